@@ -0,0 +1,97 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.demo;
+
+import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.ContextThemeWrapper;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.LayoutParamsFactory;
+import com.flipkart.android.proteus.ProteusBuilder;
+import com.flipkart.android.proteus.support.design.DesignModule;
+import com.flipkart.android.proteus.support.v4.SupportV4Module;
+import com.flipkart.android.proteus.support.v7.CardViewModule;
+import com.flipkart.android.proteus.support.v7.RecyclerViewModule;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.xmlpull.v1.XmlPullParser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * LayoutParamsFactoryTest
+ * <p>
+ * Checks that the params created by the {@link LayoutParamsFactory} of every view group
+ * registered by the core and the modules are equal, field by field, to the params the
+ * view group generates from an {@link XmlResourceParser}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+@RunWith(AndroidJUnit4.class)
+public class LayoutParamsFactoryTest {
+
+    @Test
+    public void create() throws Exception {
+        new ProteusBuilder()
+                .register(SupportV4Module.create())
+                .register(RecyclerViewModule.create())
+                .register(CardViewModule.create())
+                .register(DesignModule.create())
+                .build();
+
+        Context context = new ContextThemeWrapper(InstrumentationRegistry.getTargetContext(), R.style.AppTheme);
+        XmlResourceParser parser = context.getResources().getLayout(com.flipkart.android.proteus.R.layout.layout_params_hack);
+        //noinspection StatementWithEmptyBody
+        while (parser.nextToken() != XmlPullParser.START_TAG) {
+            // Skip everything until the view tag.
+        }
+
+        for (Class<?> type : LayoutParamsFactory.getTypes()) {
+            ViewGroup parent = (ViewGroup) type.getConstructor(Context.class).newInstance(context);
+            ViewGroup.LayoutParams expected = parent.generateLayoutParams(parser);
+            //noinspection ConstantConditions
+            ViewGroup.LayoutParams actual = LayoutParamsFactory.get(type).create();
+            assertThat(type.getName(), actual.getClass() == expected.getClass(), is(true));
+            for (Class<?> c = expected.getClass(); c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object[] values = new Object[]{field.get(actual)};
+                    Object[] defaults = new Object[]{field.get(expected)};
+                    assertThat(type.getName() + "#" + field.getName(), Arrays.deepEquals(values, defaults), is(true));
+                }
+            }
+        }
+
+        parser.close();
+    }
+}
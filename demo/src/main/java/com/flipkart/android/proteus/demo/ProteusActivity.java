@@ -38,6 +38,7 @@ import com.flipkart.android.proteus.LayoutManager;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ProteusViewPool;
 import com.flipkart.android.proteus.StyleManager;
 import com.flipkart.android.proteus.Styles;
 import com.flipkart.android.proteus.demo.api.ProteusManager;
@@ -55,6 +56,7 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
 
     private ProteusManager proteusManager;
     private ProteusLayoutInflater layoutInflater;
+    private ProteusViewPool pool;
 
     ObjectValue data;
     Layout layout;
@@ -147,6 +149,7 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
                 .build();
 
         layoutInflater = context.getInflater();
+        pool = new ProteusViewPool(context, 2, 2000);
     }
 
     @Override
@@ -208,13 +211,16 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
 
     void render() {
 
-        // remove the current view
+        // recycle the current view, it is reused if the layout has not changed
+        if (null != view) {
+            pool.release(view);
+        }
         container.removeAllViews();
 
         // Inflate a new view using proteus
         long start = System.currentTimeMillis();
-        view = layoutInflater.inflate(layout, data, container, 0);
-        System.out.println("inflate time: " + (System.currentTimeMillis() - start));
+        view = pool.inflate(layout, data, container, 0);
+        System.out.println("inflate time: " + (System.currentTimeMillis() - start) + ", pool hits: " + pool.getHitCount());
 
         // Add the inflated view to the container
         container.addView(view.getAsView());
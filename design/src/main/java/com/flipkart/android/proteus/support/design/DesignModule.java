@@ -19,6 +19,13 @@
 
 package com.flipkart.android.proteus.support.design;
 
+import android.support.annotation.NonNull;
+import android.support.design.widget.AppBarLayout;
+import android.support.design.widget.CollapsingToolbarLayout;
+import android.support.design.widget.CoordinatorLayout;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.LayoutParamsFactory;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.support.design.widget.AppBarLayoutParser;
 import com.flipkart.android.proteus.support.design.widget.BottomNavigationViewParser;
@@ -49,6 +56,34 @@ public class DesignModule implements ProteusBuilder.Module {
         builder.register(new CoordinatorLayoutParser());
         builder.register(new FloatingActionButtonParser());
         DesignModuleAttributeHelper.register(builder);
+        registerLayoutParamsFactories();
+    }
+
+    private static void registerLayoutParamsFactories() {
+        LayoutParamsFactory.register(AppBarLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                AppBarLayout.LayoutParams params = new AppBarLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+                // the params generated from attributes do not scroll unless layout_scrollFlags is set
+                params.setScrollFlags(0);
+                return params;
+            }
+        });
+        LayoutParamsFactory.register(CollapsingToolbarLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new CollapsingToolbarLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
+        LayoutParamsFactory.register(CoordinatorLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new CoordinatorLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
     }
 
 }
@@ -29,6 +29,7 @@ import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 
+import com.flipkart.android.proteus.LayoutTransaction;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.parser.ParseHelper;
@@ -91,15 +92,15 @@ public class DesignModuleAttributeHelper {
                 if (layoutParams instanceof LinearLayout.LayoutParams) {
                     LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) layoutParams;
                     params.gravity = gravity;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else if (layoutParams instanceof FrameLayout.LayoutParams) {
                     FrameLayout.LayoutParams params = (FrameLayout.LayoutParams) layoutParams;
                     params.gravity = gravity;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else if (layoutParams instanceof CoordinatorLayout.LayoutParams) {
                     CoordinatorLayout.LayoutParams params = (CoordinatorLayout.LayoutParams) layoutParams;
                     params.gravity = gravity;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 }
             }
         });
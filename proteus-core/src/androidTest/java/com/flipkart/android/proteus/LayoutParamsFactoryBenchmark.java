@@ -0,0 +1,145 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.xmlpull.v1.XmlPullParser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * LayoutParamsFactoryBenchmark
+ * <p>
+ * Compares the time taken to create the default layout params of a child with a
+ * {@link LayoutParamsFactory} against generating them from an {@link XmlResourceParser}.
+ * The results are logged with the tag {@code LayoutParamsBenchmark}.
+ * </p>
+ * <p>
+ * It also checks that the params created by every registered factory are equal, field by
+ * field, to the params their view group generates from the same {@link XmlResourceParser}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+@RunWith(AndroidJUnit4.class)
+public class LayoutParamsFactoryBenchmark {
+
+    private static final String TAG = "LayoutParamsBenchmark";
+
+    private static final int WARM_UP = 1000;
+
+    private static final int ITERATIONS = 10000;
+
+    public static XmlResourceParser parser(Context context) throws Exception {
+        XmlResourceParser parser = context.getResources().getLayout(R.layout.layout_params_hack);
+        //noinspection StatementWithEmptyBody
+        while (parser.nextToken() != XmlPullParser.START_TAG) {
+            // Skip everything until the view tag.
+        }
+        return parser;
+    }
+
+    /**
+     * Asserts that the params created by the factory of every registered view group type are
+     * equal to the params the view group generates from {@code parser}, comparing each
+     * instance field of their classes and super classes.
+     */
+    public static void assertFactories(Context context, XmlResourceParser parser) throws Exception {
+        for (Class<?> type : LayoutParamsFactory.getTypes()) {
+            ViewGroup parent = (ViewGroup) type.getConstructor(Context.class).newInstance(context);
+            ViewGroup.LayoutParams expected = parent.generateLayoutParams(parser);
+            //noinspection ConstantConditions
+            ViewGroup.LayoutParams actual = LayoutParamsFactory.get(type).create();
+            assertThat(type.getName(), actual.getClass() == expected.getClass(), is(true));
+            for (Class<?> c = expected.getClass(); c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object[] values = new Object[]{field.get(actual)};
+                    Object[] defaults = new Object[]{field.get(expected)};
+                    assertThat(type.getName() + "#" + field.getName(), Arrays.deepEquals(values, defaults), is(true));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void factories() throws Exception {
+        Context context = InstrumentationRegistry.getTargetContext();
+        XmlResourceParser parser = parser(context);
+        assertFactories(context, parser);
+        parser.close();
+    }
+
+    @Test
+    public void create() throws Exception {
+        Context context = InstrumentationRegistry.getTargetContext();
+        LinearLayout parent = new LinearLayout(context);
+
+        XmlResourceParser parser = parser(context);
+        LayoutParamsFactory factory = LayoutParamsFactory.get(LinearLayout.class);
+        //noinspection ConstantConditions
+        assertThat(factory.create().getClass() == parent.generateLayoutParams(parser).getClass(), is(true));
+
+        for (int i = 0; i < WARM_UP; i++) {
+            parent.generateLayoutParams(parser);
+            factory.create();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parent.generateLayoutParams(parser);
+        }
+        long xml = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            factory.create();
+        }
+        long direct = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            //noinspection ConstantConditions
+            LayoutParamsFactory.get(LinearLayout.class).create();
+        }
+        long lookup = (System.nanoTime() - start) / ITERATIONS;
+
+        parser.close();
+
+        Log.i(TAG, "per child: xml=" + xml + "ns, factory=" + direct + "ns, lookup+factory=" + lookup + "ns, saving=" + (xml - lookup) + "ns");
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * AsyncProteusLayoutInflater
+ * <p>
+ * A {@link ProteusLayoutInflater} which can build the view tree of a layout on a background
+ * thread. The views are created, their managers set up and the attributes of the layout applied
+ * on the executor, and the finished root is handed to the {@link InflateCallback} on the main
+ * thread, where it can be attached to the window.
+ * </p>
+ * <p>
+ * Layouts which contain a type whose parser is {@link ViewTypeParser#isMainThreadOnly()}, or an
+ * unknown type, are inflated on the main thread instead. The synchronous {@code inflate}
+ * methods delegate to {@link ProteusContext#getInflater()}.
+ * </p>
+ * <p>
+ * If the inflation fails on the background thread, for example because a view needs a
+ * {@link Looper}, the failure is handed to {@link InflateCallback#onError(RuntimeException)}
+ * instead of inflating the layout again on the main thread, since the partial tree may have
+ * had side effects, like loading images or calling the {@link InflationListener}, which cannot
+ * be undone. The layout is inflated on the main thread from then on.
+ * </p>
+ * <p>
+ * The tree must not be attached to a window, and the data must not be mutated, until it has
+ * been handed to the callback.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class AsyncProteusLayoutInflater implements ProteusLayoutInflater {
+
+    private static final String TAG = "AsyncLayoutInflater";
+
+    @NonNull
+    private final ProteusContext context;
+
+    @NonNull
+    private final Executor executor;
+
+    /**
+     * Runs the tasks on the main thread.
+     */
+    @NonNull
+    private final Executor main;
+
+    /**
+     * Whether a layout, including the layouts nested in it, must be inflated on the main thread.
+     * Only accessed on the main thread.
+     */
+    @NonNull
+    private final Map<Layout, MainThreadOnly> mainThreadOnly = new WeakHashMap<>();
+
+    public AsyncProteusLayoutInflater(@NonNull ProteusContext context, @NonNull Executor executor) {
+        this(context, executor, new Executor() {
+
+            private final Handler handler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(@NonNull Runnable command) {
+                handler.post(command);
+            }
+        });
+    }
+
+    AsyncProteusLayoutInflater(@NonNull ProteusContext context, @NonNull Executor executor, @NonNull Executor main) {
+        this.context = context;
+        this.executor = executor;
+        this.main = main;
+    }
+
+    /**
+     * Inflates the layout on the executor and hands the view to the callback on the main thread.
+     * Must be called on the main thread.
+     *
+     * @param layout    The {@link Layout} to inflate.
+     * @param data      The {@link ObjectValue} to bind the view to.
+     * @param parent    The intended parent of the view, it is only read while inflating.
+     * @param dataIndex An index of data, if it is associated with some index of an array.
+     * @param callback  The callback to hand the view to.
+     * @return a task which can be used to cancel the inflation.
+     */
+    @NonNull
+    public Task inflate(@NonNull final Layout layout, @NonNull final ObjectValue data, @Nullable final ViewGroup parent,
+                        final int dataIndex, @NonNull InflateCallback callback) {
+        final Task task = new Task(callback);
+        if (isMainThreadOnly(layout)) {
+            if (ProteusConstants.isLoggingEnabled()) {
+                Log.d(TAG, "Inflating '" + layout.type + "' on the main thread");
+            }
+            main.execute(new Runnable() {
+                @Override
+                public void run() {
+                    inflateOnMainThread(task, layout, data, parent, dataIndex);
+                }
+            });
+            return task;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (task.cancelled) {
+                    return;
+                }
+                final ProteusView view;
+                try {
+                    view = context.getInflater().inflate(layout, data, parent, dataIndex);
+                } catch (final RuntimeException e) {
+                    if (ProteusConstants.isLoggingEnabled()) {
+                        Log.w(TAG, "Failed to inflate '" + layout.type + "' in the background", e);
+                    }
+                    main.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            // the side effects of the partial tree would be repeated by a retry
+                            mainThreadOnly.put(layout, MainThreadOnly.ALWAYS);
+                            task.fail(e);
+                        }
+                    });
+                    return;
+                }
+                main.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        task.deliver(view);
+                    }
+                });
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Inflates the layout on the executor and hands the view to the callback on the main thread.
+     * Must be called on the main thread.
+     *
+     * @param layout   The {@link Layout} to inflate.
+     * @param data     The {@link ObjectValue} to bind the view to.
+     * @param callback The callback to hand the view to.
+     * @return a task which can be used to cancel the inflation.
+     */
+    @NonNull
+    public Task inflate(@NonNull Layout layout, @NonNull ObjectValue data, @NonNull InflateCallback callback) {
+        return inflate(layout, data, null, -1, callback);
+    }
+
+    /**
+     * Inflates the named layout on the executor and hands the view to the callback on the
+     * main thread. Must be called on the main thread.
+     *
+     * @param name     The name of the layout to inflate.
+     * @param data     The {@link ObjectValue} to bind the view to.
+     * @param callback The callback to hand the view to.
+     * @return a task which can be used to cancel the inflation.
+     */
+    @NonNull
+    public Task inflate(@NonNull String name, @NonNull ObjectValue data, @NonNull InflateCallback callback) {
+        Layout layout = context.getLayout(name);
+        if (null == layout) {
+            throw new ProteusInflateException("layout : '" + name + "' not found");
+        }
+        return inflate(layout, data, null, -1, callback);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        return context.getInflater().inflate(layout, data, parent, dataIndex);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, int dataIndex) {
+        return context.getInflater().inflate(layout, data, dataIndex);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data) {
+        return context.getInflater().inflate(layout, data);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull String name, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        return context.getInflater().inflate(name, data, parent, dataIndex);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull String name, @NonNull ObjectValue data, int dataIndex) {
+        return context.getInflater().inflate(name, data, dataIndex);
+    }
+
+    @NonNull
+    @Override
+    public ProteusView inflate(@NonNull String name, @NonNull ObjectValue data) {
+        return context.getInflater().inflate(name, data);
+    }
+
+    @Nullable
+    @Override
+    public ViewTypeParser getParser(@NonNull String type) {
+        return context.getInflater().getParser(type);
+    }
+
+    @Override
+    public int getUniqueViewId(@NonNull String id) {
+        return context.getInflater().getUniqueViewId(id);
+    }
+
+    @NonNull
+    @Override
+    public IdGenerator getIdGenerator() {
+        return context.getInflater().getIdGenerator();
+    }
+
+    private void inflateOnMainThread(@NonNull Task task, @NonNull Layout layout, @NonNull ObjectValue data,
+                                     @Nullable ViewGroup parent, int dataIndex) {
+        if (task.cancelled) {
+            return;
+        }
+        ProteusView view;
+        try {
+            view = context.getInflater().inflate(layout, data, parent, dataIndex);
+        } catch (RuntimeException e) {
+            task.fail(e);
+            return;
+        }
+        task.deliver(view);
+    }
+
+    /**
+     * Returns true if the layout, or any layout nested in it or included by it, must be
+     * inflated on the main thread. The result is cached until a layout it includes by name
+     * is replaced in the context.
+     */
+    boolean isMainThreadOnly(@NonNull Layout layout) {
+        MainThreadOnly result = mainThreadOnly.get(layout);
+        if (null == result || !result.isCurrent(context)) {
+            Map<String, Layout> includes = new HashMap<>();
+            boolean value = isMainThreadOnly(layout, Collections.newSetFromMap(new IdentityHashMap<Layout, Boolean>()), includes);
+            result = new MainThreadOnly(value, includes);
+            mainThreadOnly.put(layout, result);
+        }
+        return result.value;
+    }
+
+    private boolean isMainThreadOnly(@NonNull Layout layout, @NonNull Set<Layout> visited, @NonNull Map<String, Layout> includes) {
+        if (!visited.add(layout)) {
+            return false;
+        }
+
+        ViewTypeParser parser = context.getParser(layout.type);
+        if (null == parser || parser.isMainThreadOnly()) {
+            // unknown types are created by the application callback
+            return true;
+        }
+
+        if (null != layout.extras) {
+            Value name = layout.extras.get(ProteusConstants.LAYOUT);
+            if (null != name && name.isPrimitive()) {
+                Layout included = context.getLayout(name.getAsString());
+                includes.put(name.getAsString(), included);
+                if (null != included && isMainThreadOnly(included, visited, includes)) {
+                    return true;
+                }
+            }
+        }
+
+        if (null != layout.attributes) {
+            for (Layout.Attribute attribute : layout.attributes) {
+                if (isMainThreadOnly(attribute.value, visited, includes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isMainThreadOnly(@NonNull Value value, @NonNull Set<Layout> visited, @NonNull Map<String, Layout> includes) {
+        if (value.isLayout()) {
+            return isMainThreadOnly(value.getAsLayout(), visited, includes);
+        } else if (value instanceof NestedBinding) {
+            return isMainThreadOnly(((NestedBinding) value).getValue(), visited, includes);
+        } else if (value.isArray()) {
+            Iterator<Value> iterator = value.getAsArray().iterator();
+            while (iterator.hasNext()) {
+                if (isMainThreadOnly(iterator.next(), visited, includes)) {
+                    return true;
+                }
+            }
+        } else if (value.isObject()) {
+            for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+                if (isMainThreadOnly(entry.getValue(), visited, includes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a layout must be inflated on the main thread, with the layouts it includes by
+     * name at the time it was computed.
+     */
+    private static class MainThreadOnly {
+
+        /**
+         * A layout which failed to inflate in the background.
+         */
+        static final MainThreadOnly ALWAYS = new MainThreadOnly(true, Collections.<String, Layout>emptyMap());
+
+        final boolean value;
+
+        @NonNull
+        final Map<String, Layout> includes;
+
+        MainThreadOnly(boolean value, @NonNull Map<String, Layout> includes) {
+            this.value = value;
+            this.includes = includes;
+        }
+
+        /**
+         * @return true if the context still has the same layouts for the included names.
+         */
+        boolean isCurrent(@NonNull ProteusContext context) {
+            for (Map.Entry<String, Layout> entry : includes.entrySet()) {
+                if (context.getLayout(entry.getKey()) != entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * InflateCallback
+     * <p>
+     * Receives the result of an asynchronous inflation on the main thread.
+     * </p>
+     */
+    public interface InflateCallback {
+
+        /**
+         * Called with the root of the inflated tree.
+         *
+         * @param view the inflated view.
+         */
+        void onInflated(@NonNull ProteusView view);
+
+        /**
+         * Called if the layout could not be inflated.
+         *
+         * @param e the cause of the failure.
+         */
+        void onError(@NonNull RuntimeException e);
+    }
+
+    /**
+     * Task
+     * <p>
+     * A pending asynchronous inflation.
+     * </p>
+     */
+    public static class Task {
+
+        @NonNull
+        private final InflateCallback callback;
+
+        private volatile boolean cancelled;
+
+        private boolean done;
+
+        Task(@NonNull InflateCallback callback) {
+            this.callback = callback;
+        }
+
+        /**
+         * Cancels the inflation. If called on the main thread, the callback is guaranteed not to
+         * be invoked after this call returns. A view which is already being built is discarded.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return true if the callback has been invoked.
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        void deliver(@NonNull ProteusView view) {
+            if (!cancelled) {
+                done = true;
+                callback.onInflated(view);
+            }
+        }
+
+        void fail(@NonNull RuntimeException e) {
+            if (!cancelled) {
+                done = true;
+                callback.onError(e);
+            }
+        }
+    }
+}
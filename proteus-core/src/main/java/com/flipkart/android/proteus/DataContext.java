@@ -23,12 +23,16 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
 import com.flipkart.android.proteus.value.Binding.FunctionBinding;
 import com.flipkart.android.proteus.value.Null;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * DataContext class hosts a the data, scope, index, and if
@@ -41,6 +45,12 @@ import java.util.Map;
  */
 public class DataContext {
 
+    /**
+     * The compiled form of every {@link #scope} map, so that a map shared by
+     * many views, like the {@code data} of a list item layout, is compiled once.
+     */
+    private static final Map<Map<String, Value>, Scope> SCOPES = new WeakHashMap<>();
+
     /**
      * This property is used to identify whether
      * this data context is simply cloned from it's
@@ -72,6 +82,23 @@ public class DataContext {
      */
     private ObjectValue data;
 
+    /**
+     * The {@link #scope} compiled by {@link Scope#get(Map)}.
+     */
+    @Nullable
+    private final Scope compiled;
+
+    /**
+     * The input data the {@link #data} was last resolved from.
+     */
+    @Nullable
+    private ObjectValue input;
+
+    /**
+     * True if the {@link #input} may have been mutated since the {@link #data} was resolved.
+     */
+    private boolean dirty;
+
     /**
      * This is the default constructor to create a new {@code DataContext}.
      * The {@link #hasOwnProperties} is initialized to {@code true} is and
@@ -88,6 +115,7 @@ public class DataContext {
         this.scope = scope;
         this.index = index;
         this.hasOwnProperties = scope != null;
+        this.compiled = scope != null ? Scope.get(scope) : null;
     }
 
     /**
@@ -102,6 +130,7 @@ public class DataContext {
         this.scope = dataContext.getScope();
         this.index = dataContext.getIndex();
         this.hasOwnProperties = false;
+        this.compiled = dataContext.compiled;
     }
 
     /**
@@ -135,7 +164,9 @@ public class DataContext {
     }
 
     /**
-     * Update this data context with new data.
+     * Update this data context with new data. The scope is not resolved again if the
+     * data is the same object as the last time and it has not been {@link #invalidate() invalidated}
+     * since. The {@link #data} object is reused across updates unless the scope refers to itself.
      *
      * @param context The proteus context used to evaluate {@link FunctionBinding} to evaluate the scope.
      * @param in      The new data.
@@ -145,29 +176,120 @@ public class DataContext {
             in = new ObjectValue();
         }
 
-        if (scope == null) {
+        if (scope == null || compiled == null) {
             data = in;
             return;
         }
 
+        if (in == input && null != data && !dirty) {
+            return;
+        }
+
+        ObjectValue out = compiled.isReusable && null != data ? data : new ObjectValue();
+        resolve(context, compiled, in, out);
+
+        data = out;
+        input = in;
+        dirty = false;
+    }
+
+    /**
+     * Update this data context with data which may have been mutated in place at the specified
+     * paths. The scope is resolved again if the data is a new object, or if any of the bindings
+     * of the scope depend on the paths.
+     *
+     * @param context The proteus context used to evaluate {@link FunctionBinding} to evaluate the scope.
+     * @param in      The new data.
+     * @param paths   The data paths which have changed, or {@code null} if the data was not mutated.
+     */
+    public void update(@NonNull ProteusContext context, @Nullable ObjectValue in, @Nullable DataBinding[] paths) {
+        if (null != paths && isAffectedBy(paths)) {
+            dirty = true;
+        }
+        update(context, in);
+    }
+
+    /**
+     * Marks the input data as changed, so that the scope is resolved again by the next
+     * {@link #update(ProteusContext, ObjectValue)}, even if it is called with the same object.
+     * Must be called when the data has been mutated in place.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * @return the data the {@link #data} was last resolved from, or {@code null} if this data
+     * context has no scope or its data was set directly.
+     */
+    @Nullable
+    public ObjectValue getInput() {
+        return input;
+    }
+
+    /**
+     * Resolves the scope of this data context on the specified data into a new object,
+     * without updating this data context, so that it can be called from a background
+     * thread. The result can be set with {@link #setData(ObjectValue)} later.
+     *
+     * @param context The proteus context used to evaluate {@link FunctionBinding} to evaluate the scope.
+     * @param in      The new data.
+     * @return the data of this data context for the new data.
+     */
+    @NonNull
+    public ObjectValue resolve(@NonNull ProteusContext context, @NonNull ObjectValue in) {
+        if (compiled == null) {
+            return in;
+        }
         ObjectValue out = new ObjectValue();
+        resolve(context, compiled, in, out);
+        return out;
+    }
+
+    private void resolve(@NonNull ProteusContext context, @NonNull Scope compiled, @NonNull ObjectValue in, @NonNull ObjectValue out) {
+        String[] keys = compiled.keys;
+        Value[] values = compiled.values;
+        Value value, resolved, previous;
 
-        for (Map.Entry<String, Value> entry : scope.entrySet()) {
-            String key = entry.getKey();
-            Value value = entry.getValue();
-            Value resolved;
-            if (value.isBinding()) {
+        for (int i = 0; i < keys.length; i++) {
+            value = values[i];
+            if (!value.isBinding()) {
+                resolved = value;
+            } else if (compiled.isLocal[i]) {
                 resolved = value.getAsBinding().evaluate(context, out, index);
                 if (resolved == Null.INSTANCE) {
                     resolved = value.getAsBinding().evaluate(context, in, index);
                 }
             } else {
-                resolved = value;
+                resolved = value.getAsBinding().evaluate(context, in, index);
+            }
+            previous = out.get(keys[i]);
+            // keep the previous value, which avoids notifying the observers of the data
+            if (previous != resolved && !(resolved.isPrimitive() && resolved.equals(previous))) {
+                out.add(keys[i], resolved);
             }
-            out.add(key, resolved);
         }
+    }
 
-        data = out;
+    /**
+     * Checks if the data of this data context could be affected by a change of the parent
+     * data at any of the specified paths, ie. if any of the bindings in the {@link #scope}
+     * are affected. A data context without a scope shares the data of its parent and is
+     * always affected.
+     *
+     * @param paths The data paths of the parent data which have changed.
+     * @return {@code true} if the data of this data context could be affected.
+     */
+    public boolean isAffectedBy(@NonNull DataBinding[] paths) {
+        if (scope == null) {
+            return true;
+        }
+        for (Value value : scope.values()) {
+            if (value.isBinding() && value.getAsBinding().isAffectedBy(paths)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -198,6 +320,7 @@ public class DataContext {
 
     public void setData(ObjectValue data) {
         this.data = data;
+        this.input = null;
     }
 
     @Nullable
@@ -212,4 +335,72 @@ public class DataContext {
     public int getIndex() {
         return index;
     }
+
+    /**
+     * Scope
+     * <p>
+     * A scope map compiled into arrays. An entry whose binding refers to another entry of
+     * the scope is evaluated on the scope first and then on the input data; every other
+     * binding is evaluated once, on the input data.
+     * </p>
+     */
+    private static class Scope {
+
+        @NonNull
+        final String[] keys;
+
+        @NonNull
+        final Value[] values;
+
+        /**
+         * {@code true} at the entries whose binding refers to another entry of the scope.
+         */
+        @NonNull
+        final boolean[] isLocal;
+
+        /**
+         * {@code true} if no entry refers to another entry, in which case the resolved
+         * data object can be reused, since no entry can read a stale value from it.
+         */
+        final boolean isReusable;
+
+        private Scope(@NonNull Map<String, Value> scope) {
+            int size = scope.size();
+            keys = new String[size];
+            values = new Value[size];
+            isLocal = new boolean[size];
+            boolean isReusable = true;
+            int i = 0;
+            for (Map.Entry<String, Value> entry : scope.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i] = entry.getValue();
+                isLocal[i] = values[i].isBinding() && isLocal(values[i].getAsBinding(), scope);
+                isReusable = isReusable && !isLocal[i];
+                i++;
+            }
+            this.isReusable = isReusable;
+        }
+
+        @NonNull
+        static Scope get(@NonNull Map<String, Value> scope) {
+            synchronized (SCOPES) {
+                Scope compiled = SCOPES.get(scope);
+                if (null == compiled || compiled.keys.length != scope.size()) {
+                    compiled = new Scope(scope);
+                    SCOPES.put(scope, compiled);
+                }
+                return compiled;
+            }
+        }
+
+        private static boolean isLocal(@NonNull Binding binding, @NonNull Map<String, Value> scope) {
+            for (DataBinding dependency : binding.getDependencies()) {
+                Iterator<Binding.Token> tokens = dependency.getTokens();
+                if (tokens.hasNext() && scope.containsKey(tokens.next().value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+/**
+ * DataObserver
+ * <p>
+ * Observes the mutations of the data bound to a {@link ProteusView} and refreshes only the
+ * views which depend on the changed paths. The changes are scheduled on an
+ * {@link UpdateScheduler}, so all the changes made within a frame are coalesced and dispatched
+ * once, before the next frame is drawn, with
+ * {@link ProteusView.Manager#update(ObjectValue, DataBinding[])}.
+ * </p>
+ * <p>
+ * The observer must be created on the main thread; the data may be mutated from any thread
+ * as long as the mutations are not concurrent.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class DataObserver implements Value.Observer {
+
+    @NonNull
+    private final ProteusView view;
+
+    @NonNull
+    private final ObjectValue data;
+
+    @NonNull
+    private final UpdateScheduler scheduler;
+
+    /**
+     * @param view      the view bound to the data.
+     * @param data      the data to observe.
+     * @param scheduler the scheduler to dispatch the changes with, which may be shared with
+     *                  other views so that all their updates run in the same frame.
+     */
+    public DataObserver(@NonNull ProteusView view, @NonNull ObjectValue data, @NonNull UpdateScheduler scheduler) {
+        this.view = view;
+        this.data = data;
+        this.scheduler = scheduler;
+    }
+
+    public DataObserver(@NonNull ProteusView view, @NonNull ObjectValue data) {
+        this(view, data, new UpdateScheduler());
+    }
+
+    /**
+     * Starts observing the data and sets it on the view.
+     */
+    public void start() {
+        data.observe(this);
+        view.getViewManager().update(data);
+    }
+
+    /**
+     * Stops observing the data and drops the changes which have not been dispatched yet.
+     */
+    public void stop() {
+        data.observe(null);
+        scheduler.cancel(view);
+    }
+
+    @Override
+    public void onChanged(@NonNull String path) {
+        scheduler.schedule(view, data, new DataBinding[]{DataBinding.valueOf(path)});
+    }
+
+    /**
+     * Updates the view with all the changes collected since the last dispatch.
+     */
+    public void dispatch() {
+        scheduler.flush(view);
+    }
+}
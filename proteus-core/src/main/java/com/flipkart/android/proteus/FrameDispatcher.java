@@ -0,0 +1,105 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+
+/**
+ * FrameDispatcher
+ * <p>
+ * Runs a task on the main thread before the next frame is drawn, with a {@link Choreographer}
+ * on Jelly Bean and above, and by posting it to the main thread below. It must be created on
+ * the main thread; the task may be posted from any thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+class FrameDispatcher {
+
+    @NonNull
+    private final Runnable task;
+
+    @Nullable
+    private final Choreographer choreographer;
+
+    @Nullable
+    private final Choreographer.FrameCallback callback;
+
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    FrameDispatcher(@NonNull Runnable task) {
+        this.task = task;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            this.choreographer = Choreographer.getInstance();
+            this.callback = createFrameCallback(task);
+        } else {
+            this.choreographer = null;
+            this.callback = null;
+        }
+    }
+
+    /**
+     * Runs the task before the next frame.
+     */
+    void post() {
+        if (null != choreographer) {
+            postFrameCallback(choreographer);
+        } else {
+            handler.post(task);
+        }
+    }
+
+    /**
+     * Drops the task if it has been posted and has not run yet.
+     */
+    void cancel() {
+        handler.removeCallbacks(task);
+        if (null != choreographer) {
+            removeFrameCallback(choreographer);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static Choreographer.FrameCallback createFrameCallback(@NonNull final Runnable task) {
+        return new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                task.run();
+            }
+        };
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void removeFrameCallback(@NonNull Choreographer choreographer) {
+        choreographer.removeFrameCallback(callback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback(@NonNull Choreographer choreographer) {
+        choreographer.postFrameCallback(callback);
+    }
+}
@@ -41,7 +41,7 @@ public abstract class Function {
 
     // SPECIAL
 
-    public static final Function NOOP = new Function() {
+    public static final Function NOOP = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -55,7 +55,7 @@ public abstract class Function {
     };
 
     @SuppressLint("SimpleDateFormat")
-    public static final Function DATE = new Function() {
+    public static final Function DATE = new Pure() {
 
         private SimpleDateFormat from = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         private SimpleDateFormat to = new SimpleDateFormat("E, d MMM");
@@ -90,7 +90,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function FORMAT = new Function() {
+    public static final Function FORMAT = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -108,7 +108,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function JOIN = new Function() {
+    public static final Function JOIN = new Pure() {
 
         private static final String DEFAULT_DELIMITER = ", ";
 
@@ -131,7 +131,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function NUMBER = new Function() {
+    public static final Function NUMBER = new Pure() {
 
         private final DecimalFormat DEFAULT_FORMATTER = new DecimalFormat("#,###");
 
@@ -161,7 +161,7 @@ public abstract class Function {
 
     // Mathematical
 
-    public static final Function ADD = new Function() {
+    public static final Function ADD = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -180,7 +180,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function SUBTRACT = new Function() {
+    public static final Function SUBTRACT = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -199,7 +199,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function MULTIPLY = new Function() {
+    public static final Function MULTIPLY = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -218,7 +218,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function DIVIDE = new Function() {
+    public static final Function DIVIDE = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -237,7 +237,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function MODULO = new Function() {
+    public static final Function MODULO = new Pure() {
         @NonNull
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
             double remainder = arguments[0].getAsDouble();
@@ -257,7 +257,7 @@ public abstract class Function {
 
     // Logical
 
-    public static final Function AND = new Function() {
+    public static final Function AND = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -281,7 +281,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function OR = new Function() {
+    public static final Function OR = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -307,7 +307,7 @@ public abstract class Function {
 
     // Unary
 
-    public static final Function NOT = new Function() {
+    public static final Function NOT = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -325,7 +325,7 @@ public abstract class Function {
 
     // Comparison
 
-    public static final Function EQUALS = new Function() {
+    public static final Function EQUALS = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -349,7 +349,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function LESS_THAN = new Function() {
+    public static final Function LESS_THAN = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -373,7 +373,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function GREATER_THAN = new Function() {
+    public static final Function GREATER_THAN = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -397,7 +397,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function LESS_THAN_OR_EQUALS = new Function() {
+    public static final Function LESS_THAN_OR_EQUALS = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -421,7 +421,7 @@ public abstract class Function {
         }
     };
 
-    public static final Function GREATER_THAN_OR_EQUALS = new Function() {
+    public static final Function GREATER_THAN_OR_EQUALS = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -447,7 +447,7 @@ public abstract class Function {
 
     // Conditional
 
-    public static final Function TERNARY = new Function() {
+    public static final Function TERNARY = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -467,7 +467,7 @@ public abstract class Function {
     // String
 
     //String.charAt()
-    public static final Function CHAR_AT = new Function() {
+    public static final Function CHAR_AT = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -484,7 +484,7 @@ public abstract class Function {
     };
 
     //String.contains()
-    public static final Function CONTAINS = new Function() {
+    public static final Function CONTAINS = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -504,7 +504,7 @@ public abstract class Function {
     //String.indexOf()
 
     //String.isEmpty()
-    public static final Function IS_EMPTY = new Function() {
+    public static final Function IS_EMPTY = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -521,7 +521,7 @@ public abstract class Function {
     //String.lastIndexOf()
 
     //String.length()
-    public static final Function LENGTH = new Function() {
+    public static final Function LENGTH = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -552,7 +552,7 @@ public abstract class Function {
     //String.toUpperCase()
 
     //String.trim()
-    public static final Function TRIM = new Function() {
+    public static final Function TRIM = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -578,7 +578,7 @@ public abstract class Function {
     //Math.random
 
     //Math.max
-    public static final Function MAX = new Function() {
+    public static final Function MAX = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -600,7 +600,7 @@ public abstract class Function {
     };
 
     //Math.min
-    public static final Function MIN = new Function() {
+    public static final Function MIN = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -623,7 +623,7 @@ public abstract class Function {
 
     // Array
 
-    public static final Function SLICE = new Function() {
+    public static final Function SLICE = new Pure() {
         @NonNull
         @Override
         public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
@@ -675,8 +675,44 @@ public abstract class Function {
         }
     };
 
+    /**
+     * Calls this function. The {@code arguments} array is owned by the caller and
+     * may be reused for subsequent calls, hence it must not be retained or modified.
+     *
+     * @param context   the {@link Context} of the caller.
+     * @param data      the data the binding is being evaluated on.
+     * @param dataIndex the data index.
+     * @param arguments the evaluated arguments.
+     * @return the result of the function.
+     * @throws Exception if the function cannot be evaluated on the arguments.
+     */
     @NonNull
     public abstract Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception;
 
     public abstract String getName();
+
+    /**
+     * A function is pure if its result depends only on its arguments and
+     * not on the {@code data} or {@code dataIndex} it is called with. A call to a pure
+     * function with constant arguments is evaluated once, when the binding is compiled.
+     *
+     * @return {@code true} if this function is pure, {@code false} otherwise.
+     */
+    public boolean isPure() {
+        return false;
+    }
+
+    /**
+     * Pure
+     * <p>
+     * Base class for functions which are {@link #isPure()}.
+     * </p>
+     */
+    public abstract static class Pure extends Function {
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Value;
+
+/**
+ * InflationListener
+ * <p>
+ * Receives the timings of every step of an inflation by the {@link SimpleLayoutInflater}.
+ * All times are in nanoseconds. The listener is called on the thread which inflates, which
+ * may be a background thread when an {@link AsyncProteusLayoutInflater} is used. It is set
+ * with {@link ProteusContext.Builder#setInflationListener(InflationListener)}.
+ * </p>
+ *
+ * @author adityasharat
+ * @see InflationMetrics
+ */
+public interface InflationListener {
+
+    /**
+     * Called before a layout is inflated. The inflation of the children of the layout is
+     * nested between this call and {@link #onInflateEnd(Layout, String, long)}.
+     *
+     * @param layout the layout being inflated.
+     * @param name   the name of the layout if it was inflated by name, {@code null} otherwise.
+     */
+    void onInflateStart(@NonNull Layout layout, @Nullable String name);
+
+    /**
+     * Called after the view of a layout is created.
+     *
+     * @param layout the layout of the view.
+     * @param nanos  the time taken by {@link ViewTypeParser#createView}.
+     */
+    void onCreateView(@NonNull Layout layout, long nanos);
+
+    /**
+     * Called after the manager of a view is created and set.
+     *
+     * @param layout the layout of the view.
+     * @param nanos  the time taken by {@link ViewTypeParser#createViewManager}.
+     */
+    void onCreateViewManager(@NonNull Layout layout, long nanos);
+
+    /**
+     * Called after an attribute of a layout is set on its view. The time taken by the
+     * {@code children} attribute includes the inflation of the children.
+     *
+     * @param layout      the layout of the view.
+     * @param attributeId the id of the attribute.
+     * @param value       the value of the attribute, a {@link com.flipkart.android.proteus.value.Binding} if it is data bound.
+     * @param nanos       the time taken by the attribute processor.
+     */
+    void onHandleAttribute(@NonNull Layout layout, int attributeId, @NonNull Value value, long nanos);
+
+    /**
+     * Called after a layout, including its children, is inflated.
+     *
+     * @param layout the layout which was inflated.
+     * @param name   the name of the layout if it was inflated by name, {@code null} otherwise.
+     * @param nanos  the total time taken.
+     */
+    void onInflateEnd(@NonNull Layout layout, @Nullable String name, long nanos);
+}
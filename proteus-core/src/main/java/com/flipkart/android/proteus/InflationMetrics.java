@@ -0,0 +1,308 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InflationMetrics
+ * <p>
+ * An {@link InflationListener} which aggregates the timings and the counts of views,
+ * attributes and bindings, per view type and per layout name. The steps of a layout which is
+ * inflated by name, including the views of all its children, are counted for that name.
+ * The time of an attribute does not include the inflation of the children it adds, which is
+ * counted for the children. Safe to use from several threads.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class InflationMetrics implements InflationListener {
+
+    @NonNull
+    private final Map<String, Stats> types = new HashMap<>();
+
+    @NonNull
+    private final Map<String, Stats> layouts = new HashMap<>();
+
+    /**
+     * The layouts being inflated on the current thread.
+     */
+    @NonNull
+    private final ThreadLocal<List<Frame>> frames = new ThreadLocal<List<Frame>>() {
+        @Override
+        protected List<Frame> initialValue() {
+            return new ArrayList<>();
+        }
+    };
+
+    @Override
+    public void onInflateStart(@NonNull Layout layout, @Nullable String name) {
+        List<Frame> frames = this.frames.get();
+        // nested layouts are counted for the name of the outer layout
+        if (null == name && !frames.isEmpty()) {
+            name = frames.get(frames.size() - 1).name;
+        }
+        frames.add(new Frame(name));
+    }
+
+    @Override
+    public void onCreateView(@NonNull Layout layout, long nanos) {
+        String name = current();
+        synchronized (this) {
+            get(types, layout.type).onCreateView(nanos);
+            if (null != name) {
+                get(layouts, name).onCreateView(nanos);
+            }
+        }
+    }
+
+    @Override
+    public void onCreateViewManager(@NonNull Layout layout, long nanos) {
+        String name = current();
+        synchronized (this) {
+            get(types, layout.type).onCreateViewManager(nanos);
+            if (null != name) {
+                get(layouts, name).onCreateViewManager(nanos);
+            }
+        }
+    }
+
+    @Override
+    public void onHandleAttribute(@NonNull Layout layout, int attributeId, @NonNull Value value, long nanos) {
+        List<Frame> frames = this.frames.get();
+        String name = null;
+        if (!frames.isEmpty()) {
+            // the layouts inflated by the attribute, like its children, are counted for them
+            Frame frame = frames.get(frames.size() - 1);
+            nanos -= frame.nested;
+            frame.nested = 0;
+            name = frame.name;
+        }
+        boolean binding = value.isBinding();
+        synchronized (this) {
+            get(types, layout.type).onHandleAttribute(binding, nanos);
+            if (null != name) {
+                get(layouts, name).onHandleAttribute(binding, nanos);
+            }
+        }
+    }
+
+    @Override
+    public void onInflateEnd(@NonNull Layout layout, @Nullable String name, long nanos) {
+        List<Frame> frames = this.frames.get();
+        frames.remove(frames.size() - 1);
+        if (!frames.isEmpty()) {
+            frames.get(frames.size() - 1).nested += nanos;
+        }
+        if (null != name) {
+            synchronized (this) {
+                get(layouts, name).onInflate(nanos);
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the metrics of every view type.
+     */
+    @NonNull
+    public synchronized Map<String, Stats> getTypeStats() {
+        return copy(types);
+    }
+
+    /**
+     * @return a copy of the metrics of every layout inflated by name.
+     */
+    @NonNull
+    public synchronized Map<String, Stats> getLayoutStats() {
+        return copy(layouts);
+    }
+
+    /**
+     * Clears all the metrics.
+     */
+    public synchronized void reset() {
+        types.clear();
+        layouts.clear();
+    }
+
+    @Nullable
+    private String current() {
+        List<Frame> frames = this.frames.get();
+        return frames.isEmpty() ? null : frames.get(frames.size() - 1).name;
+    }
+
+    @NonNull
+    private static Stats get(@NonNull Map<String, Stats> map, @NonNull String key) {
+        Stats stats = map.get(key);
+        if (null == stats) {
+            stats = new Stats();
+            map.put(key, stats);
+        }
+        return stats;
+    }
+
+    @NonNull
+    private static Map<String, Stats> copy(@NonNull Map<String, Stats> map) {
+        Map<String, Stats> copy = new HashMap<>(map.size());
+        for (Map.Entry<String, Stats> entry : map.entrySet()) {
+            copy.put(entry.getKey(), new Stats(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * A layout being inflated.
+     */
+    private static class Frame {
+
+        /**
+         * The name the steps of the layout are counted for, {@code null} if it has none.
+         */
+        @Nullable
+        final String name;
+
+        /**
+         * The time taken by the layouts inflated inside this one since its last attribute.
+         */
+        long nested;
+
+        Frame(@Nullable String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Stats
+     * <p>
+     * The metrics of a view type or a layout. All times are in nanoseconds.
+     * </p>
+     */
+    public static class Stats {
+
+        private int inflations;
+
+        private int views;
+
+        private int attributes;
+
+        private int bindings;
+
+        private long inflate;
+
+        private long createView;
+
+        private long createViewManager;
+
+        private long handleAttribute;
+
+        Stats() {
+        }
+
+        Stats(@NonNull Stats stats) {
+            this.inflations = stats.inflations;
+            this.views = stats.views;
+            this.attributes = stats.attributes;
+            this.bindings = stats.bindings;
+            this.inflate = stats.inflate;
+            this.createView = stats.createView;
+            this.createViewManager = stats.createViewManager;
+            this.handleAttribute = stats.handleAttribute;
+        }
+
+        private void onInflate(long nanos) {
+            inflations++;
+            inflate += nanos;
+        }
+
+        private void onCreateViewManager(long nanos) {
+            createViewManager += nanos;
+        }
+
+        private void onCreateView(long nanos) {
+            views++;
+            createView += nanos;
+        }
+
+        private void onHandleAttribute(boolean binding, long nanos) {
+            attributes++;
+            if (binding) {
+                bindings++;
+            }
+            handleAttribute += nanos;
+        }
+
+        /**
+         * @return the number of times the layout was inflated by name, 0 for view types.
+         */
+        public int getInflationCount() {
+            return inflations;
+        }
+
+        public int getViewCount() {
+            return views;
+        }
+
+        public int getAttributeCount() {
+            return attributes;
+        }
+
+        public int getBindingCount() {
+            return bindings;
+        }
+
+        /**
+         * @return the total time taken to inflate the layout by name, 0 for view types.
+         */
+        public long getInflateTime() {
+            return inflate;
+        }
+
+        public long getCreateViewTime() {
+            return createView;
+        }
+
+        public long getCreateViewManagerTime() {
+            return createViewManager;
+        }
+
+        /**
+         * @return the time taken by the attributes, not including the inflation of the children.
+         */
+        public long getHandleAttributeTime() {
+            return handleAttribute;
+        }
+
+        @Override
+        public String toString() {
+            return "inflations=" + inflations + ", views=" + views + ", attributes=" + attributes
+                    + ", bindings=" + bindings + ", inflate=" + inflate + "ns, createView=" + createView
+                    + "ns, createViewManager=" + createViewManager + "ns, handleAttribute=" + handleAttribute + "ns";
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InflationPlan
+ * <p>
+ * A {@link Layout} compiled for inflation. The parser of the layout type and the processor
+ * of every attribute are looked up once, and the bound attributes are split out once, so that
+ * inflating the same layout again, like a list item or a screen which is opened again, only
+ * replays the plan. The plan is kept on the layout, see {@link Layout#getPlan()}, and is
+ * looked up without a lock; two threads may compile the same layout at once, in which case
+ * either plan is kept.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public final class InflationPlan {
+
+    private static final String TAG = "InflationPlan";
+
+    private static final AttributeProcessor[] NO_PROCESSORS = new AttributeProcessor[0];
+
+    /**
+     * The parsers the plan was compiled with.
+     */
+    @NonNull
+    private final Map<String, ViewTypeParser> parsers;
+
+    /**
+     * The parser of the layout type, {@code null} if the type is not registered.
+     */
+    @Nullable
+    public final ViewTypeParser parser;
+
+    @NonNull
+    private final int[] ids;
+
+    @NonNull
+    private final Value[] values;
+
+    @NonNull
+    private final AttributeProcessor[] processors;
+
+    /**
+     * The bound attributes of the layout, shared by all the views inflated from it.
+     */
+    @Nullable
+    public final List<BoundAttribute> boundAttributes;
+
+    /**
+     * True if the views inflated from the layout, including its static children, never change
+     * with the data: the layout and its children have no bound attributes, no data scope and do
+     * not include other layouts. Updates only set the data of such subtrees, which event
+     * handlers read, and skip their attributes.
+     */
+    public final boolean isStatic;
+
+    private InflationPlan(@NonNull Map<String, ViewTypeParser> parsers, @NonNull Layout layout) {
+        this.parsers = parsers;
+        this.parser = parsers.get(layout.type);
+
+        int size = null != layout.attributes ? layout.attributes.size() : 0;
+        this.ids = new int[size];
+        this.values = new Value[size];
+        this.processors = null != parser ? new AttributeProcessor[size] : NO_PROCESSORS;
+
+        List<BoundAttribute> boundAttributes = null;
+        boolean isStatic = null != parser && null == layout.data
+                && (null == layout.extras || !layout.extras.has(ProteusConstants.LAYOUT));
+        Layout.Attribute attribute;
+        for (int i = 0; i < size; i++) {
+            //noinspection ConstantConditions
+            attribute = layout.attributes.get(i);
+            ids[i] = attribute.id;
+            values[i] = attribute.value;
+            if (null != parser) {
+                processors[i] = parser.getAttributeProcessor(attribute.id);
+            }
+            if (attribute.value.isBinding()) {
+                if (null == boundAttributes) {
+                    boundAttributes = new ArrayList<>();
+                }
+                boundAttributes.add(new BoundAttribute(attribute.id, attribute.value.getAsBinding()));
+                isStatic = false;
+            } else if (isStatic && attribute.value.isArray()) {
+                isStatic = isStatic(parsers, attribute.value.getAsArray());
+            }
+        }
+        this.boundAttributes = null != boundAttributes ? Collections.unmodifiableList(boundAttributes) : null;
+        this.isStatic = isStatic;
+    }
+
+    /**
+     * Returns the plan of the layout, compiling it the first time.
+     *
+     * @param context the context the layout is inflated in.
+     * @param layout  the layout.
+     * @return the plan of the layout.
+     */
+    @NonNull
+    public static InflationPlan get(@NonNull ProteusContext context, @NonNull Layout layout) {
+        return get(context.getProteusResources().getParsers(), layout);
+    }
+
+    @NonNull
+    private static InflationPlan get(@NonNull Map<String, ViewTypeParser> parsers, @NonNull Layout layout) {
+        InflationPlan plan = layout.getPlan();
+        if (null == plan || plan.parsers != parsers) {
+            plan = new InflationPlan(parsers, layout);
+            layout.setPlan(plan);
+        }
+        return plan;
+    }
+
+    /**
+     * @return true if the array is made of layouts which are all static.
+     */
+    private static boolean isStatic(@NonNull Map<String, ViewTypeParser> parsers, @NonNull Array array) {
+        Value value;
+        for (int i = 0; i < array.size(); i++) {
+            value = array.get(i);
+            if (!value.isLayout() || !get(parsers, value.getAsLayout()).isStatic) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of attributes in the plan.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Sets all the attributes of the layout on the view, in the order of the layout.
+     *
+     * @param view the view inflated from the layout.
+     */
+    public void apply(@NonNull ProteusView view) {
+        for (int i = 0; i < processors.length; i++) {
+            if (null != processors[i]) {
+                if (ProteusConstants.isLoggingEnabled()) {
+                    Log.d(TAG, "Handle '" + ids[i] + "' : " + values[i]);
+                }
+                //noinspection unchecked
+                processors[i].process(view.getAsView(), values[i]);
+            }
+        }
+    }
+
+    /**
+     * Sets all the attributes of the layout on the view, like {@link #apply(ProteusView)}, and
+     * reports the time taken by each attribute to the listener.
+     *
+     * @param view     the view inflated from the layout.
+     * @param layout   the layout the plan was compiled from.
+     * @param listener the listener to report to.
+     */
+    public void apply(@NonNull ProteusView view, @NonNull Layout layout, @NonNull InflationListener listener) {
+        long start;
+        for (int i = 0; i < processors.length; i++) {
+            if (null != processors[i]) {
+                if (ProteusConstants.isLoggingEnabled()) {
+                    Log.d(TAG, "Handle '" + ids[i] + "' : " + values[i]);
+                }
+                start = System.nanoTime();
+                //noinspection unchecked
+                processors[i].process(view.getAsView(), values[i]);
+                listener.onHandleAttribute(layout, ids[i], values[i], System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.RelativeLayout;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LayoutParamsFactory
+ * <p>
+ * Creates the default {@link ViewGroup.LayoutParams} of the children of a type of view group,
+ * with {@code WRAP_CONTENT} width and height, the same as the parent would generate from an
+ * {@link AttributeSet} with only {@code layout_width} and {@code layout_height} set.
+ * </p>
+ * <p>
+ * Factories are registered per view group class. A factory also applies to the subclasses of
+ * its class which do not override {@link ViewGroup#generateLayoutParams(AttributeSet)}, like
+ * {@link android.widget.ScrollView} for {@link FrameLayout}. Modules register factories for
+ * the view groups they add, in {@link ProteusBuilder.Module#registerWith(ProteusBuilder)}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public abstract class LayoutParamsFactory {
+
+    private static final Map<Class<?>, LayoutParamsFactory> FACTORIES = new HashMap<>();
+
+    /**
+     * The factory of every view group class which was looked up, {@link #NONE} if it has none.
+     */
+    private static final Map<Class<?>, Object> RESOLVED = new HashMap<>();
+
+    /**
+     * Marks the view group classes which were looked up and have no factory.
+     */
+    private static final Object NONE = new Object();
+
+    static {
+        register(LinearLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
+        register(RelativeLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new RelativeLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
+        register(FrameLayout.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
+    }
+
+    /**
+     * @return new layout params with {@code WRAP_CONTENT} width and height.
+     */
+    @NonNull
+    public abstract ViewGroup.LayoutParams create();
+
+    /**
+     * Registers the factory of the layout params of the children of a view group class.
+     *
+     * @param type    the view group class.
+     * @param factory the factory.
+     */
+    public static synchronized void register(@NonNull Class<? extends ViewGroup> type, @NonNull LayoutParamsFactory factory) {
+        FACTORIES.put(type, factory);
+        RESOLVED.clear();
+    }
+
+    /**
+     * Returns the factory which creates the layout params of the children of the view group
+     * class, looking up its super classes.
+     *
+     * @param type the view group class.
+     * @return the factory, or {@code null} if none is registered.
+     */
+    @Nullable
+    public static synchronized LayoutParamsFactory get(@NonNull Class<? extends ViewGroup> type) {
+        Object factory = RESOLVED.get(type);
+        if (null == factory) {
+            factory = resolve(type);
+            RESOLVED.put(type, null != factory ? factory : NONE);
+        }
+        return factory != NONE ? (LayoutParamsFactory) factory : null;
+    }
+
+    /**
+     * @return the view group classes with a registered factory.
+     */
+    @NonNull
+    public static synchronized Set<Class<?>> getTypes() {
+        return new HashSet<>(FACTORIES.keySet());
+    }
+
+    @Nullable
+    private static LayoutParamsFactory resolve(@NonNull Class<?> type) {
+        Class<?> current = type;
+        LayoutParamsFactory factory;
+        while (null != current && ViewGroup.class != current) {
+            factory = FACTORIES.get(current);
+            if (null != factory) {
+                return factory;
+            }
+            if (overridesGenerateLayoutParams(current)) {
+                // the class creates layout params of its own type
+                return null;
+            }
+            current = current.getSuperclass();
+        }
+        return null;
+    }
+
+    private static boolean overridesGenerateLayoutParams(@NonNull Class<?> type) {
+        try {
+            type.getDeclaredMethod("generateLayoutParams", AttributeSet.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LayoutPreInflater
+ * <p>
+ * Inflates instances of the layouts of a {@link LayoutManager} ahead of time, while the main
+ * thread is idle, and adds them to a {@link ProteusViewPool}, so that the first inflation of
+ * those layouts is served from the pool. One instance is inflated each time the main looper
+ * becomes idle; if an {@link AsyncProteusLayoutInflater} is provided, the instances are built
+ * on its executor instead.
+ * </p>
+ * <p>
+ * The instances are inflated with empty data and bound to the real data when they are taken
+ * from the pool. A layout can be registered with the type of the parent and the data index it
+ * will be inflated with; its instances are then inflated into a parent of that type, so that
+ * the layout params of the root and its {@code layout_*} attributes are set, and they are only
+ * taken by an inflation into the same type of parent with the same index. When the system
+ * reports memory pressure the pre-inflation stops and the pool is cleared.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class LayoutPreInflater implements MessageQueue.IdleHandler, ComponentCallbacks2 {
+
+    private static final String TAG = "LayoutPreInflater";
+
+    @NonNull
+    private final ProteusContext context;
+
+    @NonNull
+    private final LayoutManager layoutManager;
+
+    @NonNull
+    private final ProteusViewPool pool;
+
+    @Nullable
+    private final AsyncProteusLayoutInflater inflater;
+
+    /**
+     * The number of instances to keep in the pool, by layout name.
+     */
+    @NonNull
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+
+    /**
+     * The number of instances which may still be inflated, by layout name, so that instances
+     * the pool cannot hold are not inflated over and over.
+     */
+    @NonNull
+    private final Map<String, Integer> remaining = new LinkedHashMap<>();
+
+    /**
+     * The parent and the data index to inflate the instances with, by layout name.
+     */
+    @NonNull
+    private final Map<String, Target> targets = new HashMap<>();
+
+    @Nullable
+    private AsyncProteusLayoutInflater.Task task;
+
+    private boolean started;
+
+    private int inflated;
+
+    public LayoutPreInflater(@NonNull ProteusContext context, @NonNull LayoutManager layoutManager,
+                             @NonNull ProteusViewPool pool) {
+        this(context, layoutManager, pool, null);
+    }
+
+    public LayoutPreInflater(@NonNull ProteusContext context, @NonNull LayoutManager layoutManager,
+                             @NonNull ProteusViewPool pool, @Nullable AsyncProteusLayoutInflater inflater) {
+        this.context = context;
+        this.layoutManager = layoutManager;
+        this.pool = pool;
+        this.inflater = inflater;
+    }
+
+    /**
+     * Pre-inflates the named layout until the pool holds the specified number of its instances.
+     *
+     * @param name  the name of the layout.
+     * @param count the number of instances.
+     * @return this pre-inflater.
+     */
+    @NonNull
+    public LayoutPreInflater add(@NonNull String name, int count) {
+        return add(name, count, null, -1);
+    }
+
+    /**
+     * Pre-inflates the named layout for a parent of the specified type until the pool holds
+     * the specified number of its instances.
+     *
+     * @param name      the name of the layout.
+     * @param count     the number of instances.
+     * @param parent    the type of the parent the instances will be added to, {@code null} if
+     *                  they are inflated without a parent. It must have a constructor which
+     *                  takes a {@link Context}.
+     * @param dataIndex the data index the instances will be inflated with.
+     * @return this pre-inflater.
+     */
+    @NonNull
+    public LayoutPreInflater add(@NonNull String name, int count, @Nullable Class<? extends ViewGroup> parent, int dataIndex) {
+        counts.put(name, count);
+        remaining.put(name, count);
+        targets.put(name, new Target(parent, dataIndex));
+        return this;
+    }
+
+    /**
+     * Pre-inflates every layout of the layout manager until the pool holds the specified number
+     * of its instances.
+     *
+     * @param count the number of instances of each layout.
+     * @return this pre-inflater.
+     */
+    @NonNull
+    public LayoutPreInflater addAll(int count) {
+        Map<String, Layout> layouts = layoutManager.getLayouts();
+        if (null != layouts) {
+            for (String name : layouts.keySet()) {
+                add(name, count);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Starts pre-inflating when the main thread is idle. Must be called on the main thread.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        context.registerComponentCallbacks(this);
+        Looper.myQueue().addIdleHandler(this);
+    }
+
+    /**
+     * Stops pre-inflating. The instances which are already in the pool are kept. Must be called
+     * on the main thread.
+     */
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        context.unregisterComponentCallbacks(this);
+        Looper.myQueue().removeIdleHandler(this);
+        if (null != task) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * @return the number of instances inflated ahead of time.
+     */
+    public int getInflatedCount() {
+        return inflated;
+    }
+
+    /**
+     * @return the number of instances inflated ahead of time which were taken from the pool.
+     */
+    public int getConsumedCount() {
+        return pool.getPreloadHitCount();
+    }
+
+    /**
+     * @return the number of instances inflated ahead of time which were dropped without being used.
+     */
+    public int getDiscardedCount() {
+        return pool.getPreloadEvictionCount();
+    }
+
+    @Override
+    public boolean queueIdle() {
+        if (!started) {
+            return false;
+        }
+        if (null != task) {
+            // wait for the instance being built in the background
+            return true;
+        }
+
+        final String name = next();
+        if (null == name) {
+            stop();
+            return false;
+        }
+
+        Layout layout = layoutManager.get(name);
+        //noinspection ConstantConditions : next() only returns the names of existing layouts
+        remaining.put(name, remaining.get(name) - 1);
+
+        final Target target = targets.get(name);
+        ViewGroup parent;
+        try {
+            //noinspection ConstantConditions : every name has a target
+            parent = target.getParent(context);
+        } catch (RuntimeException e) {
+            onFailed(name, e);
+            return true;
+        }
+
+        if (null != inflater) {
+            task = inflater.inflate(layout, new ObjectValue(), parent, target.index, new AsyncProteusLayoutInflater.InflateCallback() {
+                @Override
+                public void onInflated(@NonNull ProteusView view) {
+                    task = null;
+                    inflated++;
+                    pool.preload(view, target.type);
+                }
+
+                @Override
+                public void onError(@NonNull RuntimeException e) {
+                    task = null;
+                    onFailed(name, e);
+                }
+            });
+        } else {
+            try {
+                ProteusView view = context.getInflater().inflate(layout, new ObjectValue(), parent, target.index);
+                inflated++;
+                pool.preload(view, target.type);
+            } catch (RuntimeException e) {
+                onFailed(name, e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            stop();
+            pool.clear();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        stop();
+        pool.clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration configuration) {
+        // the instances are inflated from the context, which handles the configuration
+    }
+
+    private void onFailed(@NonNull String name, @NonNull RuntimeException e) {
+        if (ProteusConstants.isLoggingEnabled()) {
+            Log.e(TAG, "failed to pre-inflate layout : '" + name + "'", e);
+        }
+        remaining.remove(name);
+    }
+
+    /**
+     * @return the name of the next layout which has fewer instances in the pool than required.
+     */
+    @Nullable
+    private String next() {
+        Iterator<Map.Entry<String, Integer>> iterator = remaining.entrySet().iterator();
+        Map.Entry<String, Integer> entry;
+        Layout layout;
+        Integer count;
+        while (iterator.hasNext()) {
+            entry = iterator.next();
+            layout = layoutManager.get(entry.getKey());
+            count = counts.get(entry.getKey());
+            if (null == layout) {
+                if (ProteusConstants.isLoggingEnabled()) {
+                    Log.w(TAG, "layout : '" + entry.getKey() + "' not found");
+                }
+                iterator.remove();
+            } else if (entry.getValue() <= 0 || null == count || pool.getCount(layout) >= count) {
+                iterator.remove();
+            } else {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The type of the parent and the data index the instances of a layout are inflated for.
+     */
+    private static class Target {
+
+        @Nullable
+        final Class<? extends ViewGroup> type;
+
+        final int index;
+
+        /**
+         * An instance of the type, which is only read while inflating.
+         */
+        @Nullable
+        private ViewGroup parent;
+
+        Target(@Nullable Class<? extends ViewGroup> type, int index) {
+            this.type = type;
+            this.index = index;
+        }
+
+        @Nullable
+        ViewGroup getParent(@NonNull Context context) {
+            if (null == parent && null != type) {
+                try {
+                    parent = type.getConstructor(Context.class).newInstance(context);
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("cannot create a parent of type " + type.getName(), e);
+                }
+            }
+            return parent;
+        }
+    }
+}
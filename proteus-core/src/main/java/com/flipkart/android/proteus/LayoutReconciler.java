@@ -0,0 +1,352 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.managers.ViewGroupManager;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LayoutReconciler
+ * <p>
+ * Updates an inflated view tree to a new revision of its {@link Layout}, reusing as much of the
+ * tree as possible instead of inflating it again. A view is reused if its type is unchanged and
+ * none of its attributes were removed; it gets a new manager for the new layout and only the
+ * attributes whose values changed are set again. The static {@code children} of a reused view
+ * group are matched to the new children by their {@code id} and type, or by their position
+ * among the children of the same type without an id, and are reconciled recursively. Children
+ * without a match are inflated, and children which are no longer in the layout are removed.
+ * </p>
+ * <p>
+ * Attribute values are compared with {@link Object#equals(Object)}, so values which do not
+ * implement it are set again. Since an attribute may depend on the ones set before it, like
+ * the padding of a background, every attribute after the first one which changed is set again.
+ * Must be called on the main thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class LayoutReconciler {
+
+    @NonNull
+    private final ProteusContext context;
+
+    private int reused;
+
+    private int inflated;
+
+    private int removed;
+
+    public LayoutReconciler(@NonNull ProteusContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Updates the view tree to the layout and binds it to the data. If the root cannot be reused,
+     * a new tree is inflated and replaces the root in its parent.
+     *
+     * @param view   the root of the tree.
+     * @param layout the new layout.
+     * @param data   the data to bind the tree to.
+     * @return the root of the updated tree, which is either the view or a new view.
+     */
+    @NonNull
+    public ProteusView reconcile(@NonNull ProteusView view, @NonNull Layout layout, @NonNull ObjectValue data) {
+        View v = view.getAsView();
+        ViewParent parent = v.getParent();
+        ViewGroup group = parent instanceof ViewGroup ? (ViewGroup) parent : null;
+        int dataIndex = view.getViewManager().getDataContext().getIndex();
+
+        ProteusView result;
+        // the changed layout params and padding are set once per view
+        LayoutTransaction.begin();
+        try {
+            result = reconcile(view, layout, data, group, dataIndex);
+            if (result == view) {
+                view.getViewManager().update(data);
+            }
+        } finally {
+            LayoutTransaction.end();
+        }
+        if (result != view && null != group) {
+            int index = group.indexOfChild(v);
+            group.removeViewAt(index);
+            group.addView(result.getAsView(), index);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of views which were reused.
+     */
+    public int getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * @return the number of subtrees which were inflated.
+     */
+    public int getInflatedCount() {
+        return inflated;
+    }
+
+    /**
+     * @return the number of subtrees which were removed.
+     */
+    public int getRemovedCount() {
+        return removed;
+    }
+
+    @NonNull
+    private ProteusView reconcile(@NonNull ProteusView view, @NonNull Layout layout, @NonNull ObjectValue data,
+                                  @Nullable ViewGroup parent, int dataIndex) {
+        ProteusView.Manager manager = view.getViewManager();
+        Layout previous = manager.getLayout();
+        if (previous == layout) {
+            reused++;
+            return view;
+        }
+
+        ViewTypeParser parser = context.getInflater().getParser(layout.type);
+        int children = null != parser ? parser.getAttributeId(Attributes.ViewGroup.Children) : -1;
+        if (null == parser || !canReuse(view, previous, layout, children)) {
+            inflated++;
+            return context.getInflater().inflate(layout, data, parent, dataIndex);
+        }
+
+        reused++;
+        //noinspection unchecked
+        ProteusView.Manager next = parser.createViewManager(context, view, layout, data, parser, parent, dataIndex);
+        next.setExtras(manager.getExtras());
+        if (manager instanceof ViewGroupManager && next instanceof ViewGroupManager) {
+            // the data bound children are not inflated again
+            ((ViewGroupManager) next).hasDataBoundChildren = ((ViewGroupManager) manager).hasDataBoundChildren;
+        }
+        view.setViewManager(next);
+
+        SparseArray<Value> values = getAttributes(previous);
+        Value value;
+        boolean unchanged;
+        boolean changed = false;
+        if (null != layout.attributes) {
+            for (Layout.Attribute attribute : layout.attributes) {
+                value = values.get(attribute.id);
+                unchanged = null != value && value.equals(attribute.value);
+                if (attribute.id == children && null != value) {
+                    // the children are kept, and reconciled if they changed
+                    if (!unchanged) {
+                        reconcileChildren(view, value.getAsArray(), attribute.value.getAsArray());
+                    }
+                    continue;
+                }
+                if (unchanged && !changed) {
+                    continue;
+                }
+                changed = true;
+                //noinspection unchecked
+                parser.handleAttribute(view.getAsView(), attribute.id, attribute.value);
+            }
+        }
+        return view;
+    }
+
+    private void reconcileChildren(@NonNull ProteusView view, @NonNull Array previous, @NonNull Array layouts) {
+        ViewGroup group = (ViewGroup) view.getAsView();
+        DataContext dataContext = view.getViewManager().getDataContext();
+        ObjectValue data = dataContext.getData();
+        int dataIndex = dataContext.getIndex();
+
+        String[] keys = new String[previous.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = getKey(previous.get(i).getAsLayout());
+        }
+        String[] next = new String[layouts.size()];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = getKey(layouts.get(i).getAsLayout());
+        }
+        int[] matches = match(keys, next);
+
+        ProteusView[] results = new ProteusView[layouts.size()];
+        Set<View> kept = Collections.newSetFromMap(new IdentityHashMap<View, Boolean>());
+        Layout layout;
+        for (int i = 0; i < results.length; i++) {
+            layout = layouts.get(i).getAsLayout();
+            if (-1 != matches[i]) {
+                results[i] = reconcile((ProteusView) group.getChildAt(matches[i]), layout, data, group, dataIndex);
+            } else {
+                inflated++;
+                results[i] = context.getInflater().inflate(layout, data, group, dataIndex);
+            }
+            kept.add(results[i].getAsView());
+        }
+
+        View v;
+        for (int i = group.getChildCount() - 1; i >= 0; i--) {
+            v = group.getChildAt(i);
+            if (!kept.contains(v)) {
+                group.removeViewAt(i);
+                removed++;
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            v = results[i].getAsView();
+            if (group.getChildAt(i) != v) {
+                if (v.getParent() == group) {
+                    group.removeView(v);
+                }
+                group.addView(v, i);
+            }
+        }
+    }
+
+    /**
+     * A view can be reused if its type is the same, it has no attribute which the new layout does
+     * not set, and if its children changed, they are static children which were all inflated.
+     */
+    private boolean canReuse(@NonNull ProteusView view, @NonNull Layout previous, @NonNull Layout layout, int children) {
+        if (!previous.type.equals(layout.type)) {
+            return false;
+        }
+        if (null != previous.extras ? !previous.extras.equals(layout.extras) : null != layout.extras) {
+            return false;
+        }
+
+        SparseArray<Value> values = getAttributes(layout);
+        Value value;
+        if (null != previous.attributes) {
+            for (Layout.Attribute attribute : previous.attributes) {
+                value = values.get(attribute.id);
+                if (null == value) {
+                    // an attribute cannot be unset
+                    return false;
+                }
+                if (attribute.id == children && !value.equals(attribute.value)) {
+                    if (!attribute.value.isArray() || !value.isArray()) {
+                        return false;
+                    }
+                    View v = view.getAsView();
+                    if (!(v instanceof ViewGroup) || ((ViewGroup) v).getChildCount() != attribute.value.getAsArray().size()
+                            || !hasLayouts(attribute.value.getAsArray()) || !hasLayouts(value.getAsArray())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the new children to the existing children with the same key, in order, so that
+     * a child with an id is matched to the child with the same id and type, and the children
+     * without an id are matched by their position among the children of the same type.
+     *
+     * @param previous the keys of the existing children.
+     * @param keys     the keys of the new children.
+     * @return the index of the existing child reused for each new child, or {@code -1} if
+     * there is none and the child must be inflated. The existing children which are not
+     * matched are removed.
+     */
+    @NonNull
+    static int[] match(@NonNull String[] previous, @NonNull String[] keys) {
+        // the existing children by key, in order
+        Map<String, ArrayDeque<Integer>> existing = new HashMap<>();
+        ArrayDeque<Integer> queue;
+        for (int i = 0; i < previous.length; i++) {
+            queue = existing.get(previous[i]);
+            if (null == queue) {
+                queue = new ArrayDeque<>();
+                existing.put(previous[i], queue);
+            }
+            queue.add(i);
+        }
+
+        int[] matches = new int[keys.length];
+        Integer index;
+        for (int i = 0; i < keys.length; i++) {
+            queue = existing.get(keys[i]);
+            index = null != queue ? queue.poll() : null;
+            matches[i] = null != index ? index : -1;
+        }
+        return matches;
+    }
+
+    private static boolean hasLayouts(@NonNull Array array) {
+        for (int i = 0; i < array.size(); i++) {
+            if (!array.get(i).isLayout()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NonNull
+    private static SparseArray<Value> getAttributes(@NonNull Layout layout) {
+        List<Layout.Attribute> attributes = layout.attributes;
+        SparseArray<Value> values = new SparseArray<>(null != attributes ? attributes.size() : 0);
+        if (null != attributes) {
+            for (Layout.Attribute attribute : attributes) {
+                values.put(attribute.id, attribute.value);
+            }
+        }
+        return values;
+    }
+
+    @NonNull
+    private String getKey(@NonNull Layout layout) {
+        ViewTypeParser parser = context.getInflater().getParser(layout.type);
+        return getKey(layout, null != parser ? parser.getAttributeId(Attributes.View.Id) : -1);
+    }
+
+    /**
+     * @param layout the layout of a child.
+     * @param id     the id of the {@code id} attribute of its type, {@code -1} if it has none.
+     * @return the type and the id of the child, or its type if it has no id.
+     */
+    @NonNull
+    static String getKey(@NonNull Layout layout, int id) {
+        if (null != layout.attributes && id != -1) {
+            for (Layout.Attribute attribute : layout.attributes) {
+                if (attribute.id == id && attribute.value.isPrimitive()) {
+                    return layout.type + '#' + attribute.value.getAsString();
+                }
+            }
+        }
+        return layout.type;
+    }
+}
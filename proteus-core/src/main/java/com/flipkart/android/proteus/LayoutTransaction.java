@@ -0,0 +1,254 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LayoutTransaction
+ * <p>
+ * Collects the changes to the {@link ViewGroup.LayoutParams} and the padding of views while
+ * attributes are being applied, and sets them once per view when the transaction ends, so that
+ * a view with several layout attributes requests a layout once instead of once per attribute.
+ * </p>
+ * <p>
+ * A transaction is started on the current thread by {@link #begin()} and committed by the
+ * matching {@link #end()}. Transactions can be nested; the changes are committed when the
+ * outermost transaction ends. Outside a transaction the changes are set on the view at once.
+ * Processors must mutate the object returned by {@link View#getLayoutParams()} in place and
+ * pass {@link #KEEP} for the sides of the padding they do not change, since the padding of the
+ * view is not updated until the transaction ends. A view which is measured before the
+ * transaction ends must be committed first with {@link #commit(View)}. A processor which sets
+ * the padding of the view itself, like a background with padding, must commit the padding
+ * collected so far first with {@link #commitPadding(View)}, so that the attribute applied
+ * last still wins.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public final class LayoutTransaction {
+
+    /**
+     * Passed to {@link #setPadding(View, int, int, int, int)} to keep a side unchanged.
+     */
+    public static final int KEEP = Integer.MIN_VALUE;
+
+    private static final ThreadLocal<LayoutTransaction> TRANSACTION = new ThreadLocal<LayoutTransaction>() {
+        @Override
+        protected LayoutTransaction initialValue() {
+            return new LayoutTransaction();
+        }
+    };
+
+    private final Map<View, Change> changes = new IdentityHashMap<>();
+
+    private int depth;
+
+    private LayoutTransaction() {
+    }
+
+    /**
+     * Starts a transaction on the current thread.
+     */
+    public static void begin() {
+        TRANSACTION.get().depth++;
+    }
+
+    /**
+     * Ends a transaction on the current thread, and sets the collected layout params and
+     * padding on the views if it was the outermost transaction.
+     */
+    public static void end() {
+        LayoutTransaction transaction = TRANSACTION.get();
+        if (--transaction.depth == 0 && !transaction.changes.isEmpty()) {
+            // committing may apply attributes which start another transaction
+            List<Change> changes = new ArrayList<>(transaction.changes.values());
+            transaction.changes.clear();
+            for (Change change : changes) {
+                change.commit();
+            }
+        }
+    }
+
+    /**
+     * Sets the collected layout params and padding on the view and its descendants now,
+     * without waiting for the transaction to end, so that they can be measured.
+     *
+     * @param view the view.
+     */
+    public static void commit(@NonNull View view) {
+        LayoutTransaction transaction = TRANSACTION.get();
+        if (transaction.changes.isEmpty()) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>();
+        Iterator<Map.Entry<View, Change>> iterator = transaction.changes.entrySet().iterator();
+        Map.Entry<View, Change> entry;
+        while (iterator.hasNext()) {
+            entry = iterator.next();
+            if (isDescendant(view, entry.getKey())) {
+                changes.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+        for (Change change : changes) {
+            change.commit();
+        }
+    }
+
+    /**
+     * Sets the padding collected for the view on it now, before an attribute which changes
+     * the padding of the view itself is applied.
+     *
+     * @param view the view.
+     */
+    public static void commitPadding(@NonNull View view) {
+        LayoutTransaction transaction = TRANSACTION.get();
+        Change change = transaction.depth > 0 ? transaction.changes.get(view) : null;
+        if (null != change) {
+            change.commitPadding();
+        }
+    }
+
+    /**
+     * Sets the layout params on the view, when the transaction ends if one is in progress.
+     *
+     * @param view   the view.
+     * @param params the layout params of the view, mutated in place.
+     */
+    public static void setLayoutParams(@NonNull View view, @NonNull ViewGroup.LayoutParams params) {
+        Change change = get(view);
+        if (null == change) {
+            view.setLayoutParams(params);
+        } else {
+            change.params = params;
+        }
+    }
+
+    /**
+     * Sets the padding on the view, when the transaction ends if one is in progress.
+     *
+     * @param view   the view.
+     * @param left   the left padding, or {@link #KEEP}.
+     * @param top    the top padding, or {@link #KEEP}.
+     * @param right  the right padding, or {@link #KEEP}.
+     * @param bottom the bottom padding, or {@link #KEEP}.
+     */
+    public static void setPadding(@NonNull View view, int left, int top, int right, int bottom) {
+        Change change = get(view);
+        if (null == change) {
+            view.setPadding(KEEP != left ? left : view.getPaddingLeft(), KEEP != top ? top : view.getPaddingTop(),
+                    KEEP != right ? right : view.getPaddingRight(), KEEP != bottom ? bottom : view.getPaddingBottom());
+        } else {
+            change.setPadding(left, top, right, bottom);
+        }
+    }
+
+    /**
+     * @return true if {@code view} is {@code ancestor} or one of its descendants.
+     */
+    static boolean isDescendant(@NonNull View ancestor, @NonNull View view) {
+        if (view == ancestor) {
+            return true;
+        }
+        ViewParent parent = view.getParent();
+        while (parent instanceof View) {
+            if (parent == ancestor) {
+                return true;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+
+    /**
+     * @return the change of the view in the current transaction, or {@code null} if there is no transaction.
+     */
+    private static Change get(@NonNull View view) {
+        LayoutTransaction transaction = TRANSACTION.get();
+        if (transaction.depth == 0) {
+            return null;
+        }
+        Change change = transaction.changes.get(view);
+        if (null == change) {
+            change = new Change(view);
+            transaction.changes.put(view, change);
+        }
+        return change;
+    }
+
+    private static class Change {
+
+        @NonNull
+        private final View view;
+
+        private ViewGroup.LayoutParams params;
+
+        private boolean padding;
+
+        private int left = KEEP, top = KEEP, right = KEEP, bottom = KEEP;
+
+        Change(@NonNull View view) {
+            this.view = view;
+        }
+
+        void setPadding(int left, int top, int right, int bottom) {
+            padding = true;
+            if (KEEP != left) {
+                this.left = left;
+            }
+            if (KEEP != top) {
+                this.top = top;
+            }
+            if (KEEP != right) {
+                this.right = right;
+            }
+            if (KEEP != bottom) {
+                this.bottom = bottom;
+            }
+        }
+
+        void commit() {
+            if (null != params) {
+                view.setLayoutParams(params);
+            }
+            commitPadding();
+        }
+
+        void commitPadding() {
+            if (padding) {
+                // the sides which were not changed are read now, a background may have set them
+                view.setPadding(KEEP != left ? left : view.getPaddingLeft(), KEEP != top ? top : view.getPaddingTop(),
+                        KEEP != right ? right : view.getPaddingRight(), KEEP != bottom ? bottom : view.getPaddingBottom());
+                padding = false;
+                left = top = right = bottom = KEEP;
+            }
+        }
+    }
+}
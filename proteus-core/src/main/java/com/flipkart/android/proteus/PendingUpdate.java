@@ -0,0 +1,96 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * PendingUpdate
+ * <p>
+ * Merges the updates of a view which are held back to be run later, by the
+ * {@link UpdateScheduler} or while the view is paused, into one: the latest data supersedes
+ * the earlier data, and the changed paths of targeted updates are combined. A full update
+ * supersedes the paths.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class PendingUpdate {
+
+    @Nullable
+    private ObjectValue data;
+
+    /**
+     * The changed paths, {@code null} if all the data has changed.
+     */
+    @Nullable
+    private Set<DataBinding> paths;
+
+    /**
+     * @param data  the new data, or {@code null} to refresh the view with its current data.
+     * @param paths the data paths which have changed, or {@code null} if all the data has changed.
+     */
+    public PendingUpdate(@Nullable ObjectValue data, @Nullable DataBinding[] paths) {
+        this.data = data;
+        if (null != paths) {
+            this.paths = new LinkedHashSet<>();
+            Collections.addAll(this.paths, paths);
+        }
+    }
+
+    /**
+     * Merges an update into this one.
+     *
+     * @param data  the new data, or {@code null} to refresh the view with its current data.
+     * @param paths the data paths which have changed, or {@code null} if all the data has changed.
+     */
+    public void merge(@Nullable ObjectValue data, @Nullable DataBinding[] paths) {
+        // a refresh with the current data does not supersede new data
+        if (null != data) {
+            this.data = data;
+        }
+        if (null == paths) {
+            this.paths = null;
+        } else if (null != this.paths) {
+            Collections.addAll(this.paths, paths);
+        }
+    }
+
+    /**
+     * Runs the merged update on the manager.
+     *
+     * @param manager the manager of the view.
+     */
+    public void dispatch(@NonNull ProteusView.Manager manager) {
+        if (null == paths) {
+            manager.update(data);
+        } else {
+            manager.update(data, paths.toArray(new DataBinding[paths.size()]));
+        }
+    }
+}
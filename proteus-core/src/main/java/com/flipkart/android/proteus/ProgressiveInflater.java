@@ -0,0 +1,311 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.DisplayMetrics;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * ProgressiveInflater
+ * <p>
+ * Inflates the static {@code children} of a view group progressively. The first children
+ * are inflated immediately, either a fixed number of them or as many as are estimated to
+ * fill the height of the display, and the remaining children are inflated and appended in
+ * order over the following frames, a few milliseconds of work per frame. It is set with
+ * {@link ProteusContext.Builder#setProgressiveInflater(ProgressiveInflater)}.
+ * </p>
+ * <p>
+ * A deferred child is inflated with the data of its parent at the time it is inflated, so
+ * updates made to the tree before the child is inflated are not lost. Inflations which do not
+ * happen on the main thread inflate all the children immediately.
+ * </p>
+ * <p>
+ * The deferred children of a view group which is detached from its window, or of a tree which
+ * is {@link #cancel(View) cancelled}, are not inflated until the view group is attached again,
+ * and the inflater does not hold a reference to the view group until then.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ProgressiveInflater {
+
+    /**
+     * The time spent inflating deferred children in a frame.
+     */
+    private static final long FRAME_BUDGET_NANOS = 4000000L;
+
+    private final int initialChildren;
+
+    private final boolean fillViewport;
+
+    @NonNull
+    private final Deque<Job> jobs = new ArrayDeque<>();
+
+    /**
+     * Created on the main thread when the first children are deferred.
+     */
+    @Nullable
+    private FrameDispatcher dispatcher;
+
+    private boolean scheduled;
+
+    /**
+     * The number of view groups whose children are being inflated, only the outermost view
+     * group fills the viewport. Only changed on the main thread.
+     */
+    private int depth;
+
+    /**
+     * @param initialChildren the number of children of a view group to inflate immediately.
+     * @param fillViewport    if true, the children of the outermost view group are also
+     *                        inflated immediately until their measured heights add up to
+     *                        the height of the display.
+     */
+    public ProgressiveInflater(int initialChildren, boolean fillViewport) {
+        this.initialChildren = initialChildren;
+        this.fillViewport = fillViewport;
+    }
+
+    /**
+     * Inflates the children into the view group, deferring the ones after the first few.
+     *
+     * @param parser   the parser of the view group, used to add the children.
+     * @param parent   the view group.
+     * @param children the layouts of the children.
+     */
+    public void inflate(@NonNull ViewTypeParser parser, @NonNull ProteusView parent, @NonNull Array children) {
+        Job job = new Job(parser, parent, children);
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            job.run(Long.MAX_VALUE);
+            return;
+        }
+
+        View view = parent.getAsView();
+        // nested view groups are measured with the child of the outermost one they are in
+        boolean fill = fillViewport && depth == 0;
+        DisplayMetrics metrics = view.getResources().getDisplayMetrics();
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(metrics.widthPixels, View.MeasureSpec.AT_MOST);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        int height = 0;
+        View child;
+
+        depth++;
+        try {
+            while (job.hasNext()) {
+                if (job.index >= initialChildren && (!fill || height >= metrics.heightPixels)) {
+                    break;
+                }
+                child = job.next().getAsView();
+                if (fill) {
+                    // the inflation may be part of a transaction which has not set the params yet
+                    LayoutTransaction.commit(child);
+                    child.measure(widthSpec, heightSpec);
+                    height += child.getMeasuredHeight();
+                }
+            }
+        } finally {
+            depth--;
+        }
+
+        if (job.hasNext()) {
+            view.addOnAttachStateChangeListener(job);
+            job.enqueue();
+        }
+    }
+
+    /**
+     * Inflates all the deferred children of the view groups which are not detached or
+     * cancelled immediately. Must be called on the main thread.
+     */
+    public void flush() {
+        Job job;
+        depth++;
+        try {
+            while (null != (job = jobs.poll())) {
+                job.run(Long.MAX_VALUE);
+                job.finish();
+            }
+        } finally {
+            depth--;
+        }
+    }
+
+    /**
+     * Stops inflating the deferred children of the view and of the view groups inside it, until
+     * they are attached to a window again. Must be called on the main thread.
+     *
+     * @param view the root of the tree.
+     */
+    public void cancel(@NonNull View view) {
+        Iterator<Job> iterator = jobs.iterator();
+        while (iterator.hasNext()) {
+            if (LayoutTransaction.isDescendant(view, iterator.next().parent.getAsView())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of view groups which still have children to inflate.
+     */
+    public int getPendingCount() {
+        return jobs.size();
+    }
+
+    private void dispatch() {
+        scheduled = false;
+        long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+        Job job;
+        depth++;
+        try {
+            while (null != (job = jobs.peek())) {
+                if (!job.run(deadline)) {
+                    break;
+                }
+                // the job may have been removed while its children were inflated
+                jobs.remove(job);
+                job.finish();
+            }
+        } finally {
+            depth--;
+        }
+        if (!jobs.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled) {
+            return;
+        }
+        scheduled = true;
+        if (null == dispatcher) {
+            dispatcher = createDispatcher(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch();
+                }
+            });
+        }
+        dispatcher.post();
+    }
+
+    /**
+     * Creates the dispatcher which inflates the deferred children before each frame, on the
+     * main thread.
+     *
+     * @param task the task to run before each frame.
+     * @return the dispatcher.
+     */
+    @NonNull
+    FrameDispatcher createDispatcher(@NonNull Runnable task) {
+        return new FrameDispatcher(task);
+    }
+
+    private class Job implements View.OnAttachStateChangeListener {
+
+        @NonNull
+        final ViewTypeParser parser;
+
+        @NonNull
+        final ProteusView parent;
+
+        @NonNull
+        final Array children;
+
+        int index;
+
+        Job(@NonNull ViewTypeParser parser, @NonNull ProteusView parent, @NonNull Array children) {
+            this.parser = parser;
+            this.parent = parent;
+            this.children = children;
+        }
+
+        boolean hasNext() {
+            return index < children.size();
+        }
+
+        void enqueue() {
+            jobs.add(this);
+            schedule();
+        }
+
+        void finish() {
+            parent.getAsView().removeOnAttachStateChangeListener(this);
+        }
+
+        /**
+         * Inflates the next child with the current data of the parent and appends it.
+         */
+        @NonNull
+        ProteusView next() {
+            Value element = children.get(index++);
+            if (!element.isLayout()) {
+                throw new ProteusInflateException("attribute  'children' must be an array of 'Layout' objects");
+            }
+            ProteusView.Manager manager = parent.getViewManager();
+            DataContext dataContext = manager.getDataContext();
+            ProteusView child = manager.getContext().getInflater().inflate(element.getAsLayout(), dataContext.getData(),
+                    (ViewGroup) parent.getAsView(), dataContext.getIndex());
+            parser.addView(parent, child);
+            return child;
+        }
+
+        /**
+         * Inflates children until all are inflated or the deadline has passed.
+         *
+         * @return true if all the children have been inflated.
+         */
+        boolean run(long deadline) {
+            while (hasNext()) {
+                next();
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return !hasNext();
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            if (hasNext() && !jobs.contains(this)) {
+                enqueue();
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            // the view group may never be attached again, do not keep it until it is
+            jobs.remove(this);
+        }
+    }
+}
@@ -46,15 +46,29 @@ public class ProteusContext extends ContextWrapper {
     @Nullable
     private final ProteusLayoutInflater.ImageLoader loader;
 
+    @Nullable
+    private final InflationListener inflationListener;
+
+    @Nullable
+    private final ProgressiveInflater progressiveInflater;
+
+    private final boolean pauseHiddenUpdates;
+
     private ProteusLayoutInflater inflater;
 
     ProteusContext(Context base, @NonNull ProteusResources resources,
                    @Nullable ProteusLayoutInflater.ImageLoader loader,
-                   @Nullable ProteusLayoutInflater.Callback callback) {
+                   @Nullable ProteusLayoutInflater.Callback callback,
+                   @Nullable InflationListener inflationListener,
+                   @Nullable ProgressiveInflater progressiveInflater,
+                   boolean pauseHiddenUpdates) {
         super(base);
         this.callback = callback;
         this.loader = loader;
         this.resources = resources;
+        this.inflationListener = inflationListener;
+        this.progressiveInflater = progressiveInflater;
+        this.pauseHiddenUpdates = pauseHiddenUpdates;
     }
 
     @Nullable
@@ -62,6 +76,27 @@ public class ProteusContext extends ContextWrapper {
         return callback;
     }
 
+    @Nullable
+    public InflationListener getInflationListener() {
+        return inflationListener;
+    }
+
+    @Nullable
+    public ProgressiveInflater getProgressiveInflater() {
+        return progressiveInflater;
+    }
+
+    /**
+     * Returns true if the updates of views which are not attached to a window are paused until
+     * they are attached, and the children of {@link android.view.View#GONE} views are updated when
+     * they are shown, see {@link Builder#setPauseHiddenUpdates(boolean)}.
+     *
+     * @return true if the updates of hidden views are paused.
+     */
+    public boolean isPausingHiddenUpdates() {
+        return pauseHiddenUpdates;
+    }
+
     @NonNull
     public FunctionManager getFunctionManager() {
         return resources.getFunctionManager();
@@ -138,6 +173,14 @@ public class ProteusContext extends ContextWrapper {
         @Nullable
         private StyleManager styleManager;
 
+        @Nullable
+        private InflationListener inflationListener;
+
+        @Nullable
+        private ProgressiveInflater progressiveInflater;
+
+        private boolean pauseHiddenUpdates;
+
         Builder(@NonNull Context context, @NonNull Map<String, ViewTypeParser> parsers, @NonNull FunctionManager functionManager) {
             this.base = context;
             this.parsers = parsers;
@@ -164,9 +207,35 @@ public class ProteusContext extends ContextWrapper {
             return this;
         }
 
+        public Builder setInflationListener(@Nullable InflationListener inflationListener) {
+            this.inflationListener = inflationListener;
+            return this;
+        }
+
+        public Builder setProgressiveInflater(@Nullable ProgressiveInflater progressiveInflater) {
+            this.progressiveInflater = progressiveInflater;
+            return this;
+        }
+
+        /**
+         * When enabled, {@link ProteusView.Manager#update(com.flipkart.android.proteus.value.ObjectValue)}
+         * on a view which is not attached to a window only records the latest data, which is set when
+         * the view is attached. The children of a {@link android.view.View#GONE} view are not updated
+         * until it is shown. Views which are updated before they are attached, for example to be
+         * measured offscreen, must not be inflated with such a context.
+         *
+         * @param pauseHiddenUpdates true to pause the updates of hidden views, false by default.
+         * @return this builder.
+         */
+        public Builder setPauseHiddenUpdates(boolean pauseHiddenUpdates) {
+            this.pauseHiddenUpdates = pauseHiddenUpdates;
+            return this;
+        }
+
         public ProteusContext build() {
             ProteusResources resources = new ProteusResources(parsers, layoutManager, functionManager, styleManager);
-            return new ProteusContext(base, resources, loader, callback);
+            return new ProteusContext(base, resources, loader, callback, inflationListener, progressiveInflater,
+                    pauseHiddenUpdates);
         }
 
     }
@@ -23,6 +23,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.view.View;
 
+import com.flipkart.android.proteus.value.Binding.DataBinding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 
@@ -64,12 +65,24 @@ public interface ProteusView {
     interface Manager {
 
         /**
-         * Update the {@link View} with new data.
+         * Update the {@link View} with new data. The data scopes of the views are not resolved
+         * again if the data is the same object as before; data which was mutated in place must
+         * be updated with {@link #update(ObjectValue, DataBinding[])} and the changed paths.
          *
          * @param data New data for the view
          */
         void update(@Nullable ObjectValue data);
 
+        /**
+         * Update the {@link View} with new data, where only the data at the specified paths
+         * has changed. Only the bound attributes which depend on the changed paths are
+         * evaluated again.
+         *
+         * @param data  New data for the view
+         * @param paths The data paths which have changed
+         */
+        void update(@Nullable ObjectValue data, @NonNull DataBinding[] paths);
+
         /**
          * Look for a child view with the given id.  If this view has the given
          * id, return this view. Similar to {@link View#findViewById(int)}. Since
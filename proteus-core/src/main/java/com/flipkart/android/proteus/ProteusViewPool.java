@@ -0,0 +1,385 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProteusViewPool
+ * <p>
+ * Recycles the view trees of layouts which are torn down and inflated again, for example a
+ * screen which is rebuilt after its data is refreshed. A tree is handed to {@link #release(ProteusView)}
+ * when it is no longer used, and is handed back by {@link #inflate(Layout, ObjectValue)} when
+ * the same {@link Layout} instance is inflated again with the same data index, into a parent of
+ * the same type. The layout params of the root, and the {@code layout_*} attributes applied to
+ * them, depend on the type of the parent, so a tree is not handed to another type of parent. The recycled
+ * tree is reset by updating it with the new data, which sets the data on every
+ * {@link DataContext} of the tree and evaluates all its bindings again; its static attributes
+ * are already applied.
+ * </p>
+ * <p>
+ * The pool is bounded by the number of trees it holds and by their total size, see
+ * {@link #sizeOf(ProteusView)}. When a bound is exceeded, the least recently released trees are
+ * dropped. Trees should not be released if their views were modified outside of proteus.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ProteusViewPool {
+
+    @NonNull
+    private final ProteusContext context;
+
+    @NonNull
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final int maxCount;
+
+    private final int maxSize;
+
+    private int size;
+
+    private int hits;
+
+    private int misses;
+
+    private int evictions;
+
+    private int preloadHits;
+
+    private int preloadEvictions;
+
+    /**
+     * @param context  the context to inflate the layouts with when the pool has no matching tree.
+     * @param maxCount the maximum number of trees to hold.
+     * @param maxSize  the maximum total size of the trees to hold, in the units of {@link #sizeOf(ProteusView)}.
+     */
+    public ProteusViewPool(@NonNull ProteusContext context, int maxCount, int maxSize) {
+        this.context = context;
+        this.maxCount = maxCount;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a recycled tree of the layout updated with the data, or inflates a new one.
+     * Must be called on the main thread.
+     *
+     * @param layout    The {@link Layout} to inflate.
+     * @param data      The {@link ObjectValue} to bind the view to.
+     * @param parent    The intended parent view for the view.
+     * @param dataIndex An index of data, if it is associated with some index of an array.
+     * @return a view which is not attached to any parent.
+     */
+    @NonNull
+    public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        ProteusView view = acquire(layout, dataIndex, null != parent ? parent.getClass() : null);
+        if (null == view) {
+            return context.getInflater().inflate(layout, data, parent, dataIndex);
+        }
+
+        // like the inflater, views without a scope of their own take the data of the parent
+        if (parent instanceof ProteusView && !view.getViewManager().getDataContext().hasOwnProperties()) {
+            data = ((ProteusView) parent).getViewManager().getDataContext().getData();
+        }
+        view.getViewManager().update(data);
+        return view;
+    }
+
+    /**
+     * Returns a recycled tree of the layout updated with the data, or inflates a new one.
+     * Must be called on the main thread.
+     *
+     * @param layout The {@link Layout} to inflate.
+     * @param data   The {@link ObjectValue} to bind the view to.
+     * @return a view which is not attached to any parent.
+     */
+    @NonNull
+    public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data) {
+        return inflate(layout, data, null, -1);
+    }
+
+    /**
+     * Adds a tree which is no longer used to the pool. The view is removed from its parent.
+     *
+     * @param view the root of the tree.
+     * @return true if the tree was added to the pool.
+     */
+    public boolean release(@NonNull ProteusView view) {
+        ProteusView.Manager manager = view.getViewManager();
+        if (null == manager) {
+            return false;
+        }
+
+        View v = view.getAsView();
+        ViewParent parent = v.getParent();
+        Class<?> type = null;
+        if (parent instanceof ViewGroup) {
+            type = parent.getClass();
+            ((ViewGroup) parent).removeView(v);
+        }
+        manager.setExtras(null);
+        ProgressiveInflater progressiveInflater = context.getProgressiveInflater();
+        if (null != progressiveInflater) {
+            // the rest of the children are inflated when the tree is attached again
+            progressiveInflater.cancel(v);
+        }
+        if (manager instanceof ViewManager) {
+            // the views may have been changed by the user since they were last updated
+            ((ViewManager) manager).invalidateValues();
+        }
+
+        return add(view, type, false);
+    }
+
+    /**
+     * Adds a tree which was inflated ahead of time without a parent to the pool, see
+     * {@link LayoutPreInflater}. The tree must not be attached to a parent.
+     *
+     * @param view the root of the tree.
+     * @return true if the tree was added to the pool.
+     */
+    public boolean preload(@NonNull ProteusView view) {
+        return preload(view, null);
+    }
+
+    /**
+     * Adds a tree which was inflated ahead of time to the pool, see {@link LayoutPreInflater}.
+     * The tree must not be attached to a parent.
+     *
+     * @param view   the root of the tree.
+     * @param parent the type of the parent the tree was inflated for, {@code null} if it was
+     *               inflated without a parent.
+     * @return true if the tree was added to the pool.
+     */
+    public boolean preload(@NonNull ProteusView view, @Nullable Class<? extends ViewGroup> parent) {
+        return null != view.getViewManager() && add(view, parent, true);
+    }
+
+    /**
+     * Drops the least recently released trees until the pool holds at most the specified
+     * number of trees of at most the specified total size. Useful to respond to memory pressure.
+     *
+     * @param count the maximum number of trees to keep.
+     * @param size  the maximum total size of the trees to keep.
+     */
+    public void trimToSize(int count, int size) {
+        synchronized (entries) {
+            while (!entries.isEmpty() && (entries.size() > count || this.size > size)) {
+                Entry entry = entries.remove(0);
+                this.size -= entry.size;
+                evictions++;
+                if (entry.preloaded) {
+                    preloadEvictions++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all the trees held by the pool.
+     */
+    public void clear() {
+        trimToSize(0, 0);
+    }
+
+    /**
+     * @return the number of trees held by the pool.
+     */
+    public int getCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @param layout the layout.
+     * @return the number of trees of the layout held by the pool.
+     */
+    public int getCount(@NonNull Layout layout) {
+        synchronized (entries) {
+            int count = 0;
+            for (Entry entry : entries) {
+                if (entry.layout == layout) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * @return the total size of the trees held by the pool.
+     */
+    public int getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * @return the number of times a recycled tree was returned by {@code inflate}.
+     */
+    public int getHitCount() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    /**
+     * @return the number of times {@code inflate} had to inflate a new tree.
+     */
+    public int getMissCount() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * @return the number of trees dropped to stay within the bounds of the pool.
+     */
+    public int getEvictionCount() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    /**
+     * @return the number of preloaded trees which were returned by {@code inflate}.
+     */
+    public int getPreloadHitCount() {
+        synchronized (entries) {
+            return preloadHits;
+        }
+    }
+
+    /**
+     * @return the number of preloaded trees which were dropped without being used.
+     */
+    public int getPreloadEvictionCount() {
+        synchronized (entries) {
+            return preloadEvictions;
+        }
+    }
+
+    /**
+     * Returns the size of a tree. By default this is the number of views in the tree, which
+     * is a rough measure of the memory it holds. Override to measure the memory in other units,
+     * for example to account for bitmaps.
+     *
+     * @param view the root of the tree.
+     * @return the size of the tree, in the units of {@code maxSize}.
+     */
+    protected int sizeOf(@NonNull ProteusView view) {
+        return count(view.getAsView());
+    }
+
+    @Nullable
+    private ProteusView acquire(@NonNull Layout layout, int dataIndex, @Nullable Class<?> parent) {
+        synchronized (entries) {
+            Entry entry;
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                entry = entries.get(i);
+                if (entry.layout == layout && entry.index == dataIndex && entry.parent == parent) {
+                    entries.remove(i);
+                    size -= entry.size;
+                    hits++;
+                    if (entry.preloaded) {
+                        preloadHits++;
+                    }
+                    return entry.view;
+                }
+            }
+            misses++;
+            return null;
+        }
+    }
+
+    private boolean add(@NonNull ProteusView view, @Nullable Class<?> parent, boolean preloaded) {
+        int size = sizeOf(view);
+        if (size > maxSize || maxCount <= 0) {
+            return false;
+        }
+
+        ProteusView.Manager manager = view.getViewManager();
+        synchronized (entries) {
+            for (Entry entry : entries) {
+                if (entry.view == view) {
+                    return false;
+                }
+            }
+            entries.add(new Entry(manager.getLayout(), manager.getDataContext().getIndex(), parent, view, size, preloaded));
+            this.size += size;
+            trimToSize(maxCount, maxSize);
+        }
+        return true;
+    }
+
+    private static int count(@NonNull View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += count(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    private static class Entry {
+
+        @NonNull
+        final Layout layout;
+
+        final int index;
+
+        /**
+         * The type of the parent the layout params of the root were created for.
+         */
+        @Nullable
+        final Class<?> parent;
+
+        @NonNull
+        final ProteusView view;
+
+        final int size;
+
+        final boolean preloaded;
+
+        Entry(@NonNull Layout layout, int index, @Nullable Class<?> parent, @NonNull ProteusView view, int size, boolean preloaded) {
+            this.layout = layout;
+            this.index = index;
+            this.parent = parent;
+            this.view = view;
+            this.size = size;
+            this.preloaded = preloaded;
+        }
+    }
+}
@@ -45,9 +45,28 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
     @NonNull
     protected final IdGenerator idGenerator;
 
+    /**
+     * True if a subclass overrides {@link #handleAttribute(ViewTypeParser, ProteusView, int, Value)},
+     * in which case the attributes are not replayed from the {@link InflationPlan}.
+     */
+    private final boolean overridesHandleAttribute;
+
     SimpleLayoutInflater(@NonNull ProteusContext context, @NonNull IdGenerator idGenerator) {
         this.context = context;
         this.idGenerator = idGenerator;
+        this.overridesHandleAttribute = overridesHandleAttribute(getClass());
+    }
+
+    private static boolean overridesHandleAttribute(Class<?> type) {
+        for (; type != SimpleLayoutInflater.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("handleAttribute", ViewTypeParser.class, ProteusView.class, int.class, Value.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // look up the superclass
+            }
+        }
+        return false;
     }
 
     @Override
@@ -59,6 +78,42 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
     @NonNull
     @Override
     public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        InflationListener listener = context.getInflationListener();
+        if (null == listener) {
+            return inflate(layout, data, parent, dataIndex, null);
+        }
+        return inflate(layout, data, parent, dataIndex, null, listener);
+    }
+
+    @NonNull
+    private ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex,
+                                @Nullable String name, @NonNull InflationListener listener) {
+        long start = System.nanoTime();
+        listener.onInflateStart(layout, name);
+        try {
+            return inflate(layout, data, parent, dataIndex, listener);
+        } finally {
+            listener.onInflateEnd(layout, name, System.nanoTime() - start);
+        }
+    }
+
+    @NonNull
+    private ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex,
+                                @Nullable InflationListener listener) {
+        /*
+         * Set the layout params and padding of the views once, after all the attributes are handled.
+         */
+        LayoutTransaction.begin();
+        try {
+            return inflateView(layout, data, parent, dataIndex, listener);
+        } finally {
+            LayoutTransaction.end();
+        }
+    }
+
+    @NonNull
+    private ProteusView inflateView(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex,
+                                    @Nullable InflationListener listener) {
 
         /*
          * Get the the view type parser for this layout type
@@ -74,7 +129,11 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         /*
          * Create a view of {@code layout.type}
          */
+        long start = null != listener ? System.nanoTime() : 0;
         final ProteusView view = createView(parser, layout, data, parent, dataIndex);
+        if (null != listener) {
+            listener.onCreateView(layout, System.nanoTime() - start);
+        }
 
         if (view.getViewManager() == null) {
 
@@ -86,23 +145,42 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
             /*
              * Create View Manager for {@code layout.type}
              */
+            start = null != listener ? System.nanoTime() : 0;
             final ProteusView.Manager viewManager = createViewManager(parser, view, layout, data, parent, dataIndex);
 
             /*
              * Set the View Manager on the view.
              */
             view.setViewManager(viewManager);
+            if (null != listener) {
+                listener.onCreateViewManager(layout, System.nanoTime() - start);
+            }
         }
 
         /*
-         * Handle each attribute and set it on the view.
+         * Replay the compiled attributes of the layout, unless the parser or the handling of
+         * attributes was overridden.
          */
-        if (layout.attributes != null) {
+        InflationPlan plan = InflationPlan.get(context, layout);
+        if (plan.parser == parser && !overridesHandleAttribute && !parser.overridesHandleAttribute()) {
+            if (null != listener) {
+                plan.apply(view, layout, listener);
+            } else {
+                plan.apply(view);
+            }
+        } else if (layout.attributes != null) {
+            /*
+             * Handle each attribute and set it on the view.
+             */
             Iterator<Layout.Attribute> iterator = layout.attributes.iterator();
             Layout.Attribute attribute;
             while (iterator.hasNext()) {
                 attribute = iterator.next();
+                start = null != listener ? System.nanoTime() : 0;
                 handleAttribute(parser, view, attribute.id, attribute.value);
+                if (null != listener) {
+                    listener.onHandleAttribute(layout, attribute.id, attribute.value, System.nanoTime() - start);
+                }
             }
         }
 
@@ -128,7 +206,11 @@ public class SimpleLayoutInflater implements ProteusLayoutInflater {
         if (null == layout) {
             throw new ProteusInflateException("layout : '" + name + "' not found");
         }
-        return inflate(layout, data, parent, dataIndex);
+        InflationListener listener = context.getInflationListener();
+        if (null == listener) {
+            return inflate(layout, data, parent, dataIndex);
+        }
+        return inflate(layout, data, parent, dataIndex, name, listener);
     }
 
     @NonNull
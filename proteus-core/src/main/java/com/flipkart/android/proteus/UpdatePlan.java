@@ -0,0 +1,460 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.BindingMemo;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * UpdatePlan
+ * <p>
+ * Moves the evaluation of the bindings of an update off the main thread. An update is
+ * done in three steps:
+ * </p>
+ * <ol>
+ * <li>{@link #snapshot(ProteusView)} captures the bound attributes of the view tree on the
+ * main thread.</li>
+ * <li>{@link Snapshot#resolve(ObjectValue)} evaluates the scopes and bindings on the new data
+ * on any thread, producing a list of (view, attribute, value) commands.</li>
+ * <li>{@link #apply()} hands the values to the attribute processors on the main thread.</li>
+ * </ol>
+ * <p>
+ * The result is the same as {@link ProteusView.Manager#update(ObjectValue)}, as long as the
+ * data is not mutated while it is being resolved. Attributes whose processor cannot evaluate
+ * them in the background, like data bound {@code children}, are handled on the main thread
+ * when the plan is applied. So are the views whose manager is not a {@link ViewManager}.
+ * </p>
+ * <p>
+ * A plan is dropped when it is applied if the root view was updated, recycled or reconciled,
+ * or another plan was captured for it, after its snapshot was captured, so that plans which
+ * complete out of order never overwrite newer data. The same holds for each view of the tree:
+ * a view which was updated on its own since is skipped. A plan applied to a view whose updates
+ * are paused is merged into its pending update, see {@link ViewManager#isPaused()}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class UpdatePlan {
+
+    @NonNull
+    private final Snapshot snapshot;
+
+    @NonNull
+    private final ObjectValue input;
+
+    /**
+     * The nodes whose data context is set, with the resolved {@link #data} at the same index.
+     */
+    @NonNull
+    private final List<Node> nodes;
+
+    @NonNull
+    private final List<ObjectValue> data;
+
+    @NonNull
+    private final List<Command> commands;
+
+    @NonNull
+    private final List<ProteusView.Manager> managers = new ArrayList<>();
+
+    @NonNull
+    private final List<ObjectValue> managerData = new ArrayList<>();
+
+    private UpdatePlan(@NonNull Snapshot snapshot, @NonNull ObjectValue input, int size) {
+        this.snapshot = snapshot;
+        this.input = input;
+        this.nodes = new ArrayList<>(size);
+        this.data = new ArrayList<>(size);
+        this.commands = new ArrayList<>(size);
+    }
+
+    /**
+     * Captures the bound attributes of the view tree. Must be called on the main thread.
+     *
+     * @param view the root of the tree to update.
+     * @return a snapshot which can be resolved on any thread.
+     */
+    @NonNull
+    public static Snapshot snapshot(@NonNull ProteusView view) {
+        ProteusView.Manager manager = view.getViewManager();
+        if (manager instanceof ViewManager) {
+            Node root = ((ViewManager) manager).snapshot();
+            return new Snapshot(view, manager, ((ViewManager) manager).getGeneration(), root);
+        }
+        return new Snapshot(view, manager, 0, null);
+    }
+
+    /**
+     * Updates the view with the data, evaluating the bindings on the executor and applying
+     * the result on the main thread. Must be called on the main thread.
+     *
+     * @param view     the root of the tree to update.
+     * @param data     the new data.
+     * @param executor the executor to evaluate the bindings on.
+     */
+    public static void update(@NonNull ProteusView view, @NonNull final ObjectValue data, @NonNull Executor executor) {
+        final Snapshot snapshot = snapshot(view);
+        final Handler handler = new Handler(Looper.getMainLooper());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final UpdatePlan plan = snapshot.resolve(data);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        plan.apply();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return the number of attribute commands in this plan.
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Sets the resolved data on the data contexts and the resolved values on the views.
+     * Must be called on the main thread.
+     *
+     * @return false if the plan was dropped because the view changed after it was captured.
+     */
+    public boolean apply() {
+        if (!snapshot.isCurrent()) {
+            return false;
+        }
+        ProteusView.Manager manager = snapshot.manager;
+        if (manager instanceof ViewManager && ((ViewManager) manager).isPaused()) {
+            // the update is run when the view is attached again
+            manager.update(input);
+            return true;
+        }
+
+        Node node;
+        for (int i = 0; i < nodes.size(); i++) {
+            node = nodes.get(i);
+            if (node.isCurrent()) {
+                node.dataContext.setData(data.get(i));
+            }
+        }
+        LayoutTransaction.begin();
+        try {
+            for (Command command : commands) {
+                // skips the views updated on their own since the snapshot was captured
+                if (command.node.isCurrent()) {
+                    command.apply();
+                }
+            }
+            for (int i = 0; i < managers.size(); i++) {
+                managers.get(i).update(managerData.get(i));
+            }
+        } finally {
+            LayoutTransaction.end();
+        }
+        return true;
+    }
+
+    /**
+     * Snapshot
+     * <p>
+     * The bound attributes of a view tree captured by {@link #snapshot(ProteusView)}.
+     * </p>
+     */
+    public static class Snapshot {
+
+        @NonNull
+        private final ProteusView view;
+
+        @Nullable
+        private final ProteusView.Manager manager;
+
+        private final int generation;
+
+        /**
+         * The bound attributes of the tree, {@code null} if the manager of the view is not a
+         * {@link ViewManager} and the view is updated on the main thread.
+         */
+        @Nullable
+        private final Node root;
+
+        private Snapshot(@NonNull ProteusView view, @Nullable ProteusView.Manager manager, int generation, @Nullable Node root) {
+            this.view = view;
+            this.manager = manager;
+            this.generation = generation;
+            this.root = root;
+        }
+
+        /**
+         * @return true if the view has not been updated, recycled or reconciled, and no other
+         * plan has been captured for it, since this snapshot was captured.
+         */
+        public boolean isCurrent() {
+            if (null == manager || view.getViewManager() != manager) {
+                return false;
+            }
+            return !(manager instanceof ViewManager) || ((ViewManager) manager).getGeneration() == generation;
+        }
+
+        /**
+         * Evaluates the scopes and the bound attributes of the tree on the data. Can be called
+         * on any thread, it does not touch the views or the data contexts.
+         *
+         * @param data the new data.
+         * @return a plan to apply on the main thread.
+         */
+        @NonNull
+        public UpdatePlan resolve(@NonNull ObjectValue data) {
+            UpdatePlan plan = new UpdatePlan(this, data, null != root ? root.count() : 0);
+            if (null == root) {
+                if (null != manager) {
+                    plan.managers.add(manager);
+                    plan.managerData.add(data);
+                }
+                return plan;
+            }
+            BindingMemo.begin();
+            try {
+                root.resolve(data, plan);
+            } finally {
+                BindingMemo.end();
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Node
+     * <p>
+     * The bound attributes of a single view, see {@link ViewManager#snapshot()}.
+     * </p>
+     */
+    public static class Node {
+
+        @NonNull
+        private final ViewManager manager;
+
+        /**
+         * The generation of the {@link #manager} when this node was captured.
+         */
+        private final int generation;
+
+        @NonNull
+        private final ProteusContext context;
+
+        @NonNull
+        private final ViewTypeParser parser;
+
+        @NonNull
+        private final View view;
+
+        @NonNull
+        private final DataContext dataContext;
+
+        @Nullable
+        private final List<BoundAttribute> boundAttributes;
+
+        @Nullable
+        private List<Node> children;
+
+        /**
+         * The child views whose manager is not a {@link ViewManager}, updated on the main thread.
+         */
+        @Nullable
+        private List<ProteusView.Manager> managers;
+
+        public Node(@NonNull ViewManager manager, @NonNull ProteusContext context, @NonNull ViewTypeParser parser,
+                    @NonNull View view, @NonNull DataContext dataContext, @Nullable List<BoundAttribute> boundAttributes) {
+            this.manager = manager;
+            this.generation = manager.getGeneration();
+            this.context = context;
+            this.parser = parser;
+            this.view = view;
+            this.dataContext = dataContext;
+            this.boundAttributes = boundAttributes;
+        }
+
+        /**
+         * Adds the node of a child view which is updated with the data of this view.
+         *
+         * @param child the node of the child view.
+         */
+        public void add(@NonNull Node child) {
+            if (null == children) {
+                children = new ArrayList<>();
+            }
+            children.add(child);
+        }
+
+        /**
+         * Adds a child view which is updated with the data of this view. Its bound attributes
+         * are captured if its manager is a {@link ViewManager}, otherwise it is updated on the
+         * main thread when the plan is applied.
+         *
+         * @param child the child view.
+         */
+        public void add(@NonNull ProteusView child) {
+            ProteusView.Manager manager = child.getViewManager();
+            if (manager instanceof ViewManager) {
+                add(((ViewManager) manager).snapshot());
+            } else if (null != manager) {
+                if (null == managers) {
+                    managers = new ArrayList<>();
+                }
+                managers.add(manager);
+            }
+        }
+
+        /**
+         * @return true if the view has not been updated, recycled or reconciled since this
+         * node was captured.
+         */
+        boolean isCurrent() {
+            if (view instanceof ProteusView && ((ProteusView) view).getViewManager() != manager) {
+                return false;
+            }
+            return manager.getGeneration() == generation;
+        }
+
+        private int count() {
+            int count = null != boundAttributes ? boundAttributes.size() : 0;
+            if (null != children) {
+                for (Node child : children) {
+                    count += child.count();
+                }
+            }
+            return count;
+        }
+
+        private void resolve(@NonNull ObjectValue in, @NonNull UpdatePlan plan) {
+            ObjectValue data = dataContext.hasOwnProperties() ? dataContext.resolve(context, in) : in;
+            plan.nodes.add(this);
+            plan.data.add(data);
+
+            if (null != boundAttributes) {
+                int index = dataContext.getIndex();
+                AttributeProcessor processor;
+                Value value;
+                BoundAttribute attribute;
+                for (int i = 0; i < boundAttributes.size(); i++) {
+                    attribute = boundAttributes.get(i);
+                    processor = parser.getAttributeProcessor(attribute.attributeId);
+                    if (null == processor) {
+                        continue;
+                    }
+                    if (parser.overridesHandleAttribute()) {
+                        // the binding is handled by the parser on the main thread
+                        plan.commands.add(new Command(this, parser, processor, attribute, i, null));
+                        continue;
+                    }
+                    value = processor.resolve(attribute.binding, context, data, index);
+                    plan.commands.add(new Command(this, null, processor, attribute, i, value));
+                }
+            }
+
+            if (null != children) {
+                for (Node child : children) {
+                    child.resolve(data, plan);
+                }
+            }
+
+            if (null != managers) {
+                for (ProteusView.Manager manager : managers) {
+                    plan.managers.add(manager);
+                    plan.managerData.add(data);
+                }
+            }
+        }
+    }
+
+    private static class Command {
+
+        @NonNull
+        private final Node node;
+
+        @NonNull
+        private final View view;
+
+        /**
+         * The parser of the view if it overrides {@link ViewTypeParser#handleAttribute(View, int, Value)}.
+         */
+        @Nullable
+        private final ViewTypeParser parser;
+
+        @NonNull
+        private final AttributeProcessor processor;
+
+        @NonNull
+        private final BoundAttribute attribute;
+
+        /**
+         * The index of the attribute in the bound attributes of the view.
+         */
+        private final int index;
+
+        /**
+         * The evaluated value, {@code null} if the binding must be handled on the main thread.
+         */
+        @Nullable
+        private final Value value;
+
+        Command(@NonNull Node node, @Nullable ViewTypeParser parser, @NonNull AttributeProcessor processor,
+                @NonNull BoundAttribute attribute, int index, @Nullable Value value) {
+            this.node = node;
+            this.view = node.view;
+            this.parser = parser;
+            this.processor = processor;
+            this.attribute = attribute;
+            this.index = index;
+            this.value = value;
+        }
+
+        void apply() {
+            ProteusView.Manager manager = view instanceof ProteusView ? ((ProteusView) view).getViewManager() : null;
+            if (null != value && manager instanceof ViewManager) {
+                // skips the value if it has not changed
+                ((ViewManager) manager).handleValue(index, processor, value);
+            } else if (null != value) {
+                //noinspection unchecked
+                processor.handleValue(view, value);
+            } else if (null != parser) {
+                //noinspection unchecked
+                parser.handleAttribute(view, attribute.attributeId, attribute.binding);
+            } else {
+                //noinspection unchecked
+                processor.handleBinding(view, attribute.binding);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UpdateScheduler
+ * <p>
+ * Schedules the updates of {@link ProteusView}s to run once per frame. The updates of a view
+ * scheduled within a frame are merged into one {@link PendingUpdate}, which is dispatched
+ * before the next frame is drawn. A view should be scheduled by the root of the tree which is
+ * being updated.
+ * </p>
+ * <p>
+ * The scheduler must be created on the main thread; updates may be scheduled from any thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class UpdateScheduler {
+
+    @NonNull
+    private final Map<ProteusView, PendingUpdate> pending = new LinkedHashMap<>();
+
+    @NonNull
+    private final FrameDispatcher dispatcher;
+
+    private boolean scheduled;
+
+    private int scheduledCount;
+
+    private int dispatchedCount;
+
+    private int coalescedCount;
+
+    private int frameCount;
+
+    public UpdateScheduler() {
+        this.dispatcher = createDispatcher(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Creates the dispatcher which flushes the pending updates before each frame.
+     *
+     * @param task the task to run before each frame.
+     * @return the dispatcher.
+     */
+    @NonNull
+    FrameDispatcher createDispatcher(@NonNull Runnable task) {
+        return new FrameDispatcher(task);
+    }
+
+    /**
+     * Schedules {@link ProteusView.Manager#update(ObjectValue)} on the view in the next frame.
+     *
+     * @param view the root of the tree to update.
+     * @param data the new data, or {@code null} to refresh the view with its current data.
+     */
+    public void schedule(@NonNull ProteusView view, @Nullable ObjectValue data) {
+        schedule(view, data, null);
+    }
+
+    /**
+     * Schedules {@link ProteusView.Manager#update(ObjectValue, DataBinding[])} on the view in the
+     * next frame. If a full update of the view is already pending, the paths are ignored.
+     *
+     * @param view  the root of the tree to update.
+     * @param data  the new data, or {@code null} to refresh the view with its current data.
+     * @param paths the data paths which have changed, or {@code null} if all the data has changed.
+     */
+    public void schedule(@NonNull ProteusView view, @Nullable ObjectValue data, @Nullable DataBinding[] paths) {
+        synchronized (pending) {
+            scheduledCount++;
+            PendingUpdate update = pending.get(view);
+            if (null == update) {
+                pending.put(view, new PendingUpdate(data, paths));
+            } else {
+                coalescedCount++;
+                update.merge(data, paths);
+            }
+            if (!scheduled) {
+                scheduled = true;
+                dispatcher.post();
+            }
+        }
+    }
+
+    /**
+     * Drops the pending update of the view, if any.
+     *
+     * @param view the view whose update must not be dispatched.
+     * @return true if an update was pending.
+     */
+    public boolean cancel(@NonNull ProteusView view) {
+        synchronized (pending) {
+            return null != pending.remove(view);
+        }
+    }
+
+    /**
+     * Drops all the pending updates.
+     */
+    public void clear() {
+        synchronized (pending) {
+            pending.clear();
+            scheduled = false;
+        }
+        dispatcher.cancel();
+    }
+
+    /**
+     * Dispatches all the pending updates now. Must be called on the main thread.
+     */
+    public void flush() {
+        List<Map.Entry<ProteusView, PendingUpdate>> updates;
+        synchronized (pending) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            updates = new ArrayList<>(pending.entrySet());
+            pending.clear();
+            frameCount++;
+            dispatchedCount += updates.size();
+        }
+        for (Map.Entry<ProteusView, PendingUpdate> entry : updates) {
+            entry.getValue().dispatch(entry.getKey().getViewManager());
+        }
+    }
+
+    /**
+     * Dispatches the pending update of the view now, if any. Must be called on the main thread.
+     *
+     * @param view the view to update.
+     * @return true if an update was pending.
+     */
+    public boolean flush(@NonNull ProteusView view) {
+        PendingUpdate update;
+        synchronized (pending) {
+            update = pending.remove(view);
+            if (null == update) {
+                return false;
+            }
+            dispatchedCount++;
+        }
+        update.dispatch(view.getViewManager());
+        return true;
+    }
+
+    /**
+     * @return the number of views with a pending update.
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return the number of updates scheduled.
+     */
+    public int getScheduledCount() {
+        synchronized (pending) {
+            return scheduledCount;
+        }
+    }
+
+    /**
+     * @return the number of updates dispatched to the views.
+     */
+    public int getDispatchedCount() {
+        synchronized (pending) {
+            return dispatchedCount;
+        }
+    }
+
+    /**
+     * @return the number of updates merged into an update which was already pending.
+     */
+    public int getCoalescedCount() {
+        synchronized (pending) {
+            return coalescedCount;
+        }
+    }
+
+    /**
+     * @return the number of frames in which updates were dispatched.
+     */
+    public int getFrameCount() {
+        synchronized (pending) {
+            return frameCount;
+        }
+    }
+}
@@ -51,12 +51,23 @@ public abstract class ViewTypeParser<V extends View> {
 
     private AttributeProcessor[] processors = new AttributeProcessor[0];
 
+    /**
+     * The processors of this parser and all its parents, indexed by attribute id,
+     * so that an attribute is dispatched with a single array load.
+     */
+    private AttributeProcessor[] table = new AttributeProcessor[0];
+
     private Map<String, AttributeSet.Attribute> attributes = new HashMap<>();
 
     private int offset = 0;
 
     private AttributeSet attributeSet;
 
+    /**
+     * True if this parser or one of its parents overrides {@link #handleAttribute(View, int, Value)}.
+     */
+    private boolean overridesHandleAttribute;
+
     /**
      * @return
      */
@@ -155,6 +166,18 @@ public abstract class ViewTypeParser<V extends View> {
         }
     }
 
+    /**
+     * Returns true if the views of this type must be created and set up on the main thread,
+     * for example because they create a {@link android.os.Handler} or a {@link android.webkit.WebView}.
+     * Layouts containing such a type are always inflated on the main thread by the
+     * {@link AsyncProteusLayoutInflater}.
+     *
+     * @return false by default.
+     */
+    public boolean isMainThreadOnly() {
+        return false;
+    }
+
     /**
      *
      */
@@ -167,17 +190,26 @@ public abstract class ViewTypeParser<V extends View> {
      * @return
      */
     public boolean handleAttribute(V view, int attributeId, Value value) {
-        int position = getPosition(attributeId);
-        if (position < 0) {
-            //noinspection unchecked
-            return null != parent && parent.handleAttribute(view, attributeId, value);
+        if (attributeId < 0 || attributeId >= table.length) {
+            return false;
         }
-        AttributeProcessor attributeProcessor = processors[position];
         //noinspection unchecked
-        attributeProcessor.process(view, value);
+        table[attributeId].process(view, value);
         return true;
     }
 
+    /**
+     * Returns the {@link AttributeProcessor} which handles the attribute, looking up the parents
+     * of this parser like {@link #handleAttribute(View, int, Value)}.
+     *
+     * @param attributeId the id of the attribute.
+     * @return the processor, or {@code null} if the attribute is not handled by this parser.
+     */
+    @Nullable
+    public AttributeProcessor getAttributeProcessor(int attributeId) {
+        return attributeId >= 0 && attributeId < table.length ? table[attributeId] : null;
+    }
+
     /**
      * @param view
      * @param children
@@ -215,10 +247,39 @@ public abstract class ViewTypeParser<V extends View> {
             addAttributeProcessors(extras);
         }
 
+        // the ids of the attributes of this parser follow the ids of its parents
+        AttributeProcessor[] inherited = null != parent ? parent.table : new AttributeProcessor[0];
+        this.table = Arrays.copyOf(inherited, inherited.length + processors.length);
+        System.arraycopy(processors, 0, table, inherited.length, processors.length);
+
         this.attributeSet = new AttributeSet(attributes.size() > 0 ? attributes : null, null != parent ? parent.getAttributeSet() : null, processors.length);
+        this.overridesHandleAttribute = overridesHandleAttribute(getClass()) || (null != parent && parent.overridesHandleAttribute);
         return attributeSet;
     }
 
+    /**
+     * Returns true if this parser or one of its parents overrides {@link #handleAttribute(View, int, Value)},
+     * in which case the attributes of its views must be set through that method and not by
+     * calling the {@link AttributeProcessor}s directly.
+     *
+     * @return true if the handling of attributes was overridden.
+     */
+    public boolean overridesHandleAttribute() {
+        return overridesHandleAttribute;
+    }
+
+    private static boolean overridesHandleAttribute(Class<?> type) {
+        for (; type != ViewTypeParser.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("handleAttribute", View.class, int.class, Value.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // look up the superclass
+            }
+        }
+        return false;
+    }
+
     /**
      * @param name
      * @return
@@ -260,29 +321,29 @@ public abstract class ViewTypeParser<V extends View> {
         return offset;
     }
 
-    private int getPosition(int attributeId) {
-        return attributeId + getOffset();
-    }
-
     private int getAttributeId(int position) {
         return position - getOffset();
     }
 
     private ViewGroup.LayoutParams generateDefaultLayoutParams(@NonNull ViewGroup parent) {
 
+        LayoutParamsFactory factory = LayoutParamsFactory.get(parent.getClass());
+        if (null != factory) {
+            return factory.create();
+        }
+
         /**
          * This whole method is a hack! To generate layout params, since no other way exists.
          * Refer : http://stackoverflow.com/questions/7018267/generating-a-layoutparams-based-on-the-type-of-parent
+         * It is only used for view groups without a {@link LayoutParamsFactory}. The parser is
+         * shared, so it is used by one thread at a time.
          */
-        if (null == sParser) {
-            synchronized (ViewTypeParser.class) {
-                if (null == sParser) {
-                    initializeAttributeSet(parent);
-                }
+        synchronized (ViewTypeParser.class) {
+            if (null == sParser) {
+                initializeAttributeSet(parent);
             }
+            return parent.generateLayoutParams(sParser);
         }
-
-        return parent.generateLayoutParams(sParser);
     }
 
     private void initializeAttributeSet(@NonNull ViewGroup parent) {
@@ -309,6 +370,13 @@ public abstract class ViewTypeParser<V extends View> {
         @Nullable
         private final AttributeSet parent;
 
+        /**
+         * The attributes of this set and all its parents, where the attributes of this
+         * set take precedence, so that an attribute is looked up once.
+         */
+        @NonNull
+        private final Map<String, Attribute> all;
+
         private final int offset;
 
         AttributeSet(@Nullable Map<String, Attribute> attributes, @Nullable AttributeSet parent, int offset) {
@@ -316,18 +384,15 @@ public abstract class ViewTypeParser<V extends View> {
             this.parent = parent;
             int parentOffset = null != parent ? parent.getOffset() : 0;
             this.offset = parentOffset - offset;
+            this.all = null != parent ? new HashMap<>(parent.all) : new HashMap<String, Attribute>();
+            if (null != attributes) {
+                this.all.putAll(attributes);
+            }
         }
 
         @Nullable
         public Attribute getAttribute(String name) {
-            Attribute attribute = null != attributes ? attributes.get(name) : null;
-            if (null != attribute) {
-                return attribute;
-            } else if (null != parent) {
-                return parent.getAttribute(name);
-            } else {
-                return null;
-            }
+            return all.get(name);
         }
 
         int getOffset() {
@@ -0,0 +1,137 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WriteBatch
+ * <p>
+ * Collects several writes to the data of a {@link ProteusView}, for example the values of
+ * the inputs of a form, and applies them together with a single refresh of only the views
+ * which depend on the written paths.
+ * </p>
+ * <pre>
+ * new WriteBatch(data)
+ *     .assign(DataBinding.valueOf("user.name"), new Primitive(name), 0)
+ *     .assign(DataBinding.valueOf("user.subscribed"), new Primitive(checked), 0)
+ *     .commit(view.getViewManager());
+ * </pre>
+ * <p>
+ * If the data is observed by a {@link DataObserver}, {@link #apply()} is enough, the
+ * observer refreshes the views with the written paths in the next frame.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class WriteBatch {
+
+    @NonNull
+    private final ObjectValue data;
+
+    @NonNull
+    private final List<DataBinding> bindings = new ArrayList<>();
+
+    @NonNull
+    private final List<Value> values = new ArrayList<>();
+
+    @NonNull
+    private final List<Integer> indices = new ArrayList<>();
+
+    public WriteBatch(@NonNull ObjectValue data) {
+        this.data = data;
+    }
+
+    /**
+     * Adds a write to the batch. Nothing is written until the batch is applied.
+     *
+     * @param binding the data path to write to.
+     * @param value   the value to write.
+     * @param index   the index used if the path contains {@code $index}.
+     * @return this batch.
+     */
+    public WriteBatch assign(@NonNull DataBinding binding, @NonNull Value value, int index) {
+        bindings.add(binding);
+        values.add(value);
+        indices.add(index);
+        return this;
+    }
+
+    /**
+     * @return the number of writes in the batch.
+     */
+    public int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Writes all the values in the order they were added and clears the batch.
+     *
+     * @return the distinct data paths which have been written.
+     */
+    @NonNull
+    public DataBinding[] apply() {
+        List<DataBinding> paths = new ArrayList<>(bindings.size());
+        DataBinding binding;
+        for (int i = 0; i < bindings.size(); i++) {
+            binding = bindings.get(i);
+            binding.assign(values.get(i), data, indices.get(i));
+            if (!paths.contains(binding)) {
+                paths.add(binding);
+            }
+        }
+        bindings.clear();
+        values.clear();
+        indices.clear();
+        return paths.toArray(new DataBinding[paths.size()]);
+    }
+
+    /**
+     * Writes all the values and updates the views which depend on the written paths once.
+     *
+     * @param manager the manager of the root view bound to the data.
+     */
+    public void commit(@NonNull ProteusView.Manager manager) {
+        if (bindings.isEmpty()) {
+            return;
+        }
+        manager.update(data, apply());
+    }
+
+    /**
+     * Writes all the values and schedules the update of the views which depend on the written
+     * paths in the next frame, together with the other updates of the view.
+     *
+     * @param scheduler the scheduler to schedule the update on.
+     * @param view      the root view bound to the data.
+     */
+    public void commit(@NonNull UpdateScheduler scheduler, @NonNull ProteusView view) {
+        if (bindings.isEmpty()) {
+            return;
+        }
+        scheduler.schedule(view, data, apply());
+    }
+}
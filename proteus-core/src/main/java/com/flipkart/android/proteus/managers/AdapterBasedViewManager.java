@@ -20,11 +20,14 @@
 package com.flipkart.android.proteus.managers;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.view.View;
 
 import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.UpdatePlan;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
 import com.flipkart.android.proteus.value.Layout;
 
 /**
@@ -44,7 +47,12 @@ public class AdapterBasedViewManager extends ViewGroupManager {
      * should be handled by the adapter attached to the view.
      */
     @Override
-    protected void updateChildren() {
+    protected void updateChildren(@Nullable DataBinding[] paths) {
+
+    }
+
+    @Override
+    protected void snapshotChildren(@NonNull UpdatePlan.Node node) {
 
     }
 }
@@ -23,11 +23,14 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 
 import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.UpdatePlan;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 
@@ -41,6 +44,18 @@ public class ViewGroupManager extends ViewManager {
 
     public boolean hasDataBoundChildren;
 
+    /**
+     * Updates the children with the data of this view when it is shown again, after their
+     * updates were skipped while it was hidden.
+     */
+    @Nullable
+    private Reveal reveal;
+
+    /**
+     * True if the updates of the children were skipped while this view was hidden.
+     */
+    private boolean stale;
+
     public ViewGroupManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                             @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
         super(context, parser, view, layout, dataContext);
@@ -48,12 +63,67 @@ public class ViewGroupManager extends ViewManager {
     }
 
     @Override
-    public void update(@Nullable ObjectValue data) {
-        super.update(data);
-        updateChildren();
+    protected void onUpdate(@Nullable DataBinding[] paths) {
+        super.onUpdate(paths);
+        if (isHidden()) {
+            // the children are updated with the latest data when this view is shown
+            stale = true;
+            if (null == reveal) {
+                reveal = new Reveal();
+            }
+            return;
+        }
+        updateChildren(stale ? null : paths);
+        stale = false;
+    }
+
+    @Override
+    public void setData(@NonNull ObjectValue data) {
+        super.setData(data);
+        if (view instanceof ViewGroup) {
+            ViewGroup parent = (ViewGroup) view;
+            View child;
+            for (int index = 0; index < parent.getChildCount(); index++) {
+                child = parent.getChildAt(index);
+                if (child instanceof ProteusView && ((ProteusView) child).getViewManager() instanceof ViewManager) {
+                    ((ViewManager) ((ProteusView) child).getViewManager()).setData(data);
+                }
+            }
+        }
     }
 
-    protected void updateChildren() {
+    /**
+     * Forgets the values last set on this view and all the views below it.
+     */
+    @Override
+    public void invalidateValues() {
+        super.invalidateValues();
+        if (view instanceof ViewGroup) {
+            ViewGroup parent = (ViewGroup) view;
+            View child;
+            for (int index = 0; index < parent.getChildCount(); index++) {
+                child = parent.getChildAt(index);
+                if (child instanceof ProteusView && ((ProteusView) child).getViewManager() instanceof ViewManager) {
+                    ((ViewManager) ((ProteusView) child).getViewManager()).invalidateValues();
+                }
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public UpdatePlan.Node snapshot() {
+        UpdatePlan.Node node = super.snapshot();
+        snapshotChildren(node);
+        return node;
+    }
+
+    /**
+     * Adds the nodes of the child views which are updated by {@link #updateChildren(DataBinding[])}.
+     *
+     * @param node the node of this view.
+     */
+    protected void snapshotChildren(@NonNull UpdatePlan.Node node) {
         if (!hasDataBoundChildren && view instanceof ViewGroup) {
             ViewGroup parent = (ViewGroup) view;
             int count = parent.getChildCount();
@@ -62,9 +132,87 @@ public class ViewGroupManager extends ViewManager {
             for (int index = 0; index < count; index++) {
                 child = parent.getChildAt(index);
                 if (child instanceof ProteusView) {
-                    ((ProteusView) child).getViewManager().update(dataContext.getData());
+                    // static subtrees have no bound attributes, only their data is set
+                    node.add((ProteusView) child);
                 }
             }
         }
     }
+
+    /**
+     * Updates the child views with the data of this view.
+     *
+     * @param paths The data paths which have changed, or {@code null} if all the data has changed.
+     */
+    protected void updateChildren(@Nullable DataBinding[] paths) {
+        if (!hasDataBoundChildren && view instanceof ViewGroup) {
+            ViewGroup parent = (ViewGroup) view;
+            int count = parent.getChildCount();
+            View child;
+
+            for (int index = 0; index < count; index++) {
+                child = parent.getChildAt(index);
+                if (child instanceof ProteusView && isStatic((ProteusView) child)) {
+                    // static subtrees have no views to update, only their data is set
+                    ((ViewManager) ((ProteusView) child).getViewManager()).setData(dataContext.getData());
+                } else if (child instanceof ProteusView) {
+                    if (null == paths) {
+                        ((ProteusView) child).getViewManager().update(dataContext.getData());
+                    } else {
+                        ((ProteusView) child).getViewManager().update(dataContext.getData(), paths);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isStatic(@NonNull ProteusView view) {
+        ProteusView.Manager manager = view.getViewManager();
+        return manager instanceof ViewManager && ((ViewManager) manager).isStatic();
+    }
+
+    /**
+     * Waits for the view to be shown, moving to the tree of the window the view is attached to.
+     */
+    private class Reveal implements ViewTreeObserver.OnPreDrawListener, View.OnAttachStateChangeListener {
+
+        @NonNull
+        private ViewTreeObserver observer;
+
+        Reveal() {
+            observer = view.getViewTreeObserver();
+            observer.addOnPreDrawListener(this);
+            view.addOnAttachStateChangeListener(this);
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            if (isHidden()) {
+                return true;
+            }
+            onViewDetachedFromWindow(view);
+            view.removeOnAttachStateChangeListener(this);
+            reveal = null;
+            if (!stale) {
+                return true;
+            }
+            stale = false;
+            updateChildren(null);
+            // skip this frame, the children may need to be laid out again
+            return false;
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            observer = v.getViewTreeObserver();
+            observer.addOnPreDrawListener(this);
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            if (observer.isAlive()) {
+                observer.removeOnPreDrawListener(this);
+            }
+        }
+    }
 }
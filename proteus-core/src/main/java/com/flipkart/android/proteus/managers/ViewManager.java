@@ -22,16 +22,26 @@ package com.flipkart.android.proteus.managers;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.view.View;
+import android.view.ViewParent;
 
 import com.flipkart.android.proteus.BoundAttribute;
 import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.InflationPlan;
+import com.flipkart.android.proteus.LayoutTransaction;
+import com.flipkart.android.proteus.PendingUpdate;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.UpdatePlan;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.BindingMemo;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -59,9 +69,49 @@ public class ViewManager implements ProteusView.Manager {
     @Nullable
     protected final List<BoundAttribute> boundAttributes;
 
+    /**
+     * True if this view and its children never change with the data.
+     *
+     * @see InflationPlan#isStatic
+     */
+    protected final boolean isStatic;
+
+    /**
+     * The values last handed to the processors of the bound attributes, by the index of the
+     * attribute. The bound attributes are shared by all the views of a layout, so the values
+     * are kept here.
+     */
+    @Nullable
+    private final Value[] values;
+
     @Nullable
     protected Object extras;
 
+    /**
+     * The update which was paused while the view was detached, see {@link ProteusContext#isPausingHiddenUpdates()}.
+     */
+    @Nullable
+    private PendingUpdate pending;
+
+    /**
+     * The listener which runs the {@link #pending} update when the view is attached.
+     */
+    @Nullable
+    private Resume resume;
+
+    /**
+     * True while this view is being updated. Its children are updated along with it and are
+     * never paused then: when it resumes, the attach listeners of the children run after its
+     * own, so they are not attached yet.
+     */
+    private boolean updating;
+
+    /**
+     * Incremented when the view is updated or its bound attributes are captured, so that an
+     * {@link UpdatePlan} captured earlier is not applied over newer data.
+     */
+    private int generation;
+
     public ViewManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                        @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
         this.context = context;
@@ -70,38 +120,119 @@ public class ViewManager implements ProteusView.Manager {
         this.layout = layout;
         this.dataContext = dataContext;
 
-        if (null != layout.attributes) {
-            List<BoundAttribute> boundAttributes = new ArrayList<>();
-            for (Layout.Attribute attribute : layout.attributes) {
-                if (attribute.value.isBinding()) {
-                    boundAttributes.add(new BoundAttribute(attribute.id, attribute.value.getAsBinding()));
-                }
-            }
-            if (boundAttributes.size() > 0) {
-                this.boundAttributes = boundAttributes;
-            } else {
-                this.boundAttributes = null;
+        // the bound attributes are split out once per layout and shared
+        InflationPlan plan = InflationPlan.get(context, layout);
+        this.boundAttributes = plan.boundAttributes;
+        this.isStatic = plan.isStatic;
+        this.values = null != boundAttributes ? new Value[boundAttributes.size()] : null;
+    }
+
+    @Override
+    public void update(@Nullable ObjectValue data) {
+        generation++;
+        if (pause(data, null)) {
+            return;
+        }
+
+        BindingMemo.begin();
+        LayoutTransaction.begin();
+        updating = true;
+        try {
+            // update the data context so all child views can refer to new data
+            if (data != null) {
+                updateDataContext(data, null);
             }
-        } else {
-            this.boundAttributes = null;
+
+            onUpdate(null);
+        } finally {
+            updating = false;
+            LayoutTransaction.end();
+            BindingMemo.end();
         }
     }
 
     @Override
-    public void update(@Nullable ObjectValue data) {
-        // update the data context so all child views can refer to new data
-        if (data != null) {
-            updateDataContext(data);
+    public void update(@Nullable ObjectValue data, @NonNull DataBinding[] paths) {
+        // the data of this subtree is derived from the scope, nothing has changed; unless the
+        // data is a new object, which the data context and the views below must refer to
+        if (dataContext.hasOwnProperties() && !dataContext.isAffectedBy(paths)
+                && (null == data || data == dataContext.getInput())) {
+            return;
         }
 
+        generation++;
+        if (pause(data, paths)) {
+            return;
+        }
+
+        BindingMemo.begin();
+        LayoutTransaction.begin();
+        updating = true;
+        try {
+            // update the data context so all child views can refer to new data
+            if (data != null) {
+                updateDataContext(data, paths);
+            }
+
+            // the paths cannot be mapped into the scope, treat all of it as changed
+            onUpdate(dataContext.hasOwnProperties() ? null : paths);
+        } finally {
+            updating = false;
+            LayoutTransaction.end();
+            BindingMemo.end();
+        }
+    }
+
+    /**
+     * Updates the bound attributes of this view after the data context has been updated.
+     *
+     * @param paths The data paths which have changed, or {@code null} if all the data has changed.
+     */
+    protected void onUpdate(@Nullable DataBinding[] paths) {
         // update the bound attributes of this view
         if (this.boundAttributes != null) {
-            for (BoundAttribute boundAttribute : this.boundAttributes) {
-                this.handleBinding(boundAttribute);
+            BoundAttribute boundAttribute;
+            for (int index = 0; index < this.boundAttributes.size(); index++) {
+                boundAttribute = this.boundAttributes.get(index);
+                if (null == paths || boundAttribute.binding.isAffectedBy(paths)) {
+                    this.handleBinding(index, boundAttribute);
+                }
             }
         }
     }
 
+    /**
+     * Captures the bound attributes of this view, and of the child views which are updated
+     * along with it, so that they can be evaluated away from the main thread. Must be
+     * called on the main thread.
+     *
+     * @return the node of this view in an {@link UpdatePlan}.
+     * @see UpdatePlan#snapshot(ProteusView)
+     */
+    @NonNull
+    public UpdatePlan.Node snapshot() {
+        generation++;
+        return new UpdatePlan.Node(this, context, parser, view, dataContext, boundAttributes);
+    }
+
+    /**
+     * @return the number of times this view was updated or captured by an {@link UpdatePlan}.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns true if this view and its children have no bound attributes and no data scope,
+     * so that updating them with new data has no effect on the views. Only their data is set,
+     * see {@link #setData(ObjectValue)}.
+     *
+     * @return true if updates can skip this view.
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
     @Nullable
     @Override
     public View findViewById(@NonNull String id) {
@@ -136,16 +267,181 @@ public class ViewManager implements ProteusView.Manager {
         this.extras = extras;
     }
 
-    private void updateDataContext(ObjectValue data) {
+    /**
+     * Returns true if the updates of this view are paused, which is when pausing is enabled
+     * on the context and the view is not attached to a window.
+     *
+     * @return true if the updates of this view are paused.
+     */
+    public boolean isPaused() {
+        return context.isPausingHiddenUpdates() && null == view.getWindowToken();
+    }
+
+    /**
+     * Returns true if the view is hidden and its children do not have to be updated, which
+     * is when pausing is enabled on the context and the view is {@link View#GONE}.
+     *
+     * @return true if the children of this view need not be updated.
+     */
+    protected boolean isHidden() {
+        return context.isPausingHiddenUpdates() && View.GONE == view.getVisibility();
+    }
+
+    /**
+     * Merges the update into the pending update if the updates of this view are paused. The
+     * pending update is run when the view is attached to a window, or along with the next
+     * update which is not paused, so that it is not run later over newer data.
+     *
+     * @return true if the update was held back or run merged with the pending update.
+     */
+    private boolean pause(@Nullable ObjectValue data, @Nullable DataBinding[] paths) {
+        if (!isPaused() || isUpdatedByParent()) {
+            if (null == pending) {
+                return false;
+            }
+            PendingUpdate update = pending;
+            view.removeOnAttachStateChangeListener(resume);
+            pending = null;
+            resume = null;
+            update.merge(data, paths);
+            update.dispatch(this);
+            return true;
+        }
+        if (null == pending) {
+            pending = new PendingUpdate(data, paths);
+            resume = new Resume();
+            view.addOnAttachStateChangeListener(resume);
+        } else {
+            pending.merge(data, paths);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if an ancestor of this view is being updated, and updates this view with it.
+     */
+    private boolean isUpdatedByParent() {
+        ViewParent parent = view.getParent();
+        while (null != parent) {
+            if (parent instanceof ProteusView && ((ProteusView) parent).getViewManager() instanceof ViewManager) {
+                return ((ViewManager) ((ProteusView) parent).getViewManager()).updating;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+
+    private void updateDataContext(@NonNull ObjectValue data, @Nullable DataBinding[] paths) {
         if (dataContext.hasOwnProperties()) {
-            dataContext.update(context, data);
+            dataContext.update(context, data, paths);
         } else {
             dataContext.setData(data);
         }
     }
 
-    private void handleBinding(BoundAttribute boundAttribute) {
+    /**
+     * Sets the data on the data context of this view and its children without updating the
+     * views, so that event handlers reading the data context see the latest data. Used for
+     * {@link #isStatic() static} views, which have no data scope.
+     *
+     * @param data the data of the parent view.
+     */
+    public void setData(@NonNull ObjectValue data) {
+        dataContext.setData(data);
+    }
+
+    /**
+     * Forgets the values last handed to the processors of the bound attributes of this view,
+     * so that the next update sets every bound attribute again. Must be called when the
+     * view may no longer show those values, for example after the user or the app changed
+     * its state.
+     */
+    public void invalidateValues() {
+        generation++;
+        if (null != values) {
+            Arrays.fill(values, null);
+        }
+    }
+
+    /**
+     * Hands the resolved value of the bound attribute at the index to the processor, unless
+     * it is the same as the value last handed to it, so that the setters of the view are not
+     * called and the view is not laid out again when nothing has changed.
+     *
+     * @param index     the index of the attribute in the bound attributes of the layout.
+     * @param processor the processor of the attribute.
+     * @param value     the resolved value.
+     */
+    public void handleValue(int index, @NonNull AttributeProcessor processor, @NonNull Value value) {
+        //noinspection ConstantConditions : there are values for every bound attribute
+        if (isUnchanged(values[index], value)) {
+            return;
+        }
         //noinspection unchecked
-        parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+        processor.handleValue(view, value);
+        values[index] = value;
+    }
+
+    private void handleBinding(int index, BoundAttribute boundAttribute) {
+        if (parser.overridesHandleAttribute()) {
+            //noinspection unchecked
+            parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+            return;
+        }
+        AttributeProcessor processor = parser.getAttributeProcessor(boundAttribute.attributeId);
+        Value value = null != processor ? processor.resolve(boundAttribute.binding, view.getContext(), dataContext.getData(), dataContext.getIndex()) : null;
+        if (null != value) {
+            handleValue(index, processor, value);
+        } else {
+            // the processor handles the binding itself
+            //noinspection unchecked
+            parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+        }
+    }
+
+    /**
+     * Runs the updates paused while the view was detached when it is attached again.
+     */
+    private class Resume implements View.OnAttachStateChangeListener {
+
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            v.removeOnAttachStateChangeListener(this);
+            PendingUpdate update = pending;
+            pending = null;
+            resume = null;
+            if (null != update) {
+                // the children of the view are not attached yet, they are updated along with it
+                update.dispatch(ViewManager.this);
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            // wait for the view to be attached again
+        }
+    }
+
+    /**
+     * Only immutable values are compared, objects and arrays may have been mutated in place.
+     * Numbers are compared with their type, since {@code 1} and {@code 1.0} are not rendered
+     * the same.
+     */
+    private static boolean isUnchanged(@Nullable Value last, @NonNull Value value) {
+        if (null == last) {
+            return false;
+        } else if (value.isNull()) {
+            return last.isNull();
+        } else if (value.isPrimitive() && last.isPrimitive()) {
+            Primitive a = last.getAsPrimitive(), b = value.getAsPrimitive();
+            if (a == b) {
+                return true;
+            }
+            if (a.isNumber() && b.isNumber()) {
+                return a.getAsNumber().getClass() == b.getAsNumber().getClass() && a.equals(b);
+            }
+            return a.equals(b);
+        }
+        return false;
     }
 }
@@ -33,10 +33,20 @@ import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * IncludeParser
  * <p>
- * TODO: merge the attributes into the included layout
+ * Inflates the layout named by the {@code layout} attribute of an {@code include}, with the
+ * attributes, data and extras of the include merged into it. The merged layout is computed
+ * once per include and included layout, and reused by every inflation of the include, so that
+ * the compiled plans of the merged layout are reused as well. An include which includes itself,
+ * directly or through other includes, is rejected with a {@link ProteusInflateException}.
  * </p>
  *
  * @author aditya.sharat
@@ -44,10 +54,17 @@ import com.flipkart.android.proteus.value.Value;
 
 public class IncludeParser<V extends View> extends ViewTypeParser<V> {
 
+    /**
+     * The merged layout of every include, for as long as the include is referenced.
+     */
+    private static final Map<Layout, Expansion> EXPANSIONS = new WeakHashMap<>();
+
+    private static final String TYPE = "include";
+
     @NonNull
     @Override
     public String getType() {
-        return "include";
+        return TYPE;
     }
 
     @Nullable
@@ -59,7 +76,45 @@ public class IncludeParser<V extends View> extends ViewTypeParser<V> {
     @NonNull
     @Override
     public ProteusView createView(@NonNull ProteusContext context, @NonNull Layout include, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+        return context.getInflater().inflate(expand(context, include), data, parent, dataIndex);
+    }
+
+    /**
+     * Returns the included layout merged with the include, computing it the first time.
+     *
+     * @param context the context to look up the included layout in.
+     * @param include the include layout.
+     * @return the merged layout.
+     * @throws ProteusInflateException if the included layout is not found or includes itself.
+     */
+    @NonNull
+    public static Layout expand(@NonNull ProteusContext context, @NonNull Layout include) {
+        String name = getName(include);
+        Layout layout = context.getLayout(name);
+        if (null == layout) {
+            throw new ProteusInflateException("Layout '" + name + "' not found");
+        }
+
+        synchronized (EXPANSIONS) {
+            Expansion expansion = EXPANSIONS.get(include);
+            if (null != expansion && expansion.layout == layout) {
+                return expansion.merged;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        path.add(name);
+        checkCycles(context, layout, path);
+
+        Layout merged = layout.merge(include);
+        synchronized (EXPANSIONS) {
+            EXPANSIONS.put(include, new Expansion(layout, merged));
+        }
+        return merged;
+    }
 
+    @NonNull
+    private static String getName(@NonNull Layout include) {
         if (include.extras == null) {
             throw new IllegalArgumentException("required attribute 'layout' missing.");
         }
@@ -68,13 +123,51 @@ public class IncludeParser<V extends View> extends ViewTypeParser<V> {
         if (null == type || !type.isPrimitive()) {
             throw new ProteusInflateException("required attribute 'layout' missing or is not a string");
         }
+        return type.getAsString();
+    }
 
-        Layout layout = context.getLayout(type.getAsString());
-        if (null == layout) {
-            throw new ProteusInflateException("Layout '" + type + "' not found");
+    /**
+     * Walks the layout and the layouts it includes, failing if an include on the path is reached
+     * again. The layouts of data bound children are not walked, since their recursion ends with
+     * the data.
+     */
+    private static void checkCycles(@NonNull ProteusContext context, @NonNull Layout layout, @NonNull List<String> path) {
+        if (TYPE.equals(layout.type) && layout.extras != null) {
+            Value type = layout.extras.get(ProteusConstants.LAYOUT);
+            if (null != type && type.isPrimitive()) {
+                String name = type.getAsString();
+                if (path.contains(name)) {
+                    path.add(name);
+                    throw new ProteusInflateException("include cycle: " + path);
+                }
+                Layout included = context.getLayout(name);
+                if (null != included) {
+                    path.add(name);
+                    checkCycles(context, included, path);
+                    path.remove(path.size() - 1);
+                }
+            }
         }
+        if (null != layout.attributes) {
+            for (Layout.Attribute attribute : layout.attributes) {
+                checkCycles(context, attribute.value, path);
+            }
+        }
+    }
 
-        return context.getInflater().inflate(layout.merge(include), data, parent, dataIndex);
+    private static void checkCycles(@NonNull ProteusContext context, @NonNull Value value, @NonNull List<String> path) {
+        if (value.isLayout()) {
+            checkCycles(context, value.getAsLayout(), path);
+        } else if (value.isArray()) {
+            Iterator<Value> iterator = value.getAsArray().iterator();
+            while (iterator.hasNext()) {
+                checkCycles(context, iterator.next(), path);
+            }
+        } else if (value.isObject()) {
+            for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+                checkCycles(context, entry.getValue(), path);
+            }
+        }
     }
 
     @Override
@@ -82,4 +175,18 @@ public class IncludeParser<V extends View> extends ViewTypeParser<V> {
 
     }
 
+    private static class Expansion {
+
+        @NonNull
+        final Layout layout;
+
+        @NonNull
+        final Layout merged;
+
+        Expansion(@NonNull Layout layout, @NonNull Layout merged) {
+            this.layout = layout;
+            this.merged = merged;
+        }
+    }
+
 }
@@ -32,6 +32,7 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.RelativeLayout;
 
+import com.flipkart.android.proteus.LayoutTransaction;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.value.Primitive;
 import com.flipkart.android.proteus.value.Value;
@@ -280,7 +281,7 @@ public class ParseHelper {
         if (layoutParams instanceof RelativeLayout.LayoutParams) {
             RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) layoutParams;
             params.addRule(verb, anchor);
-            view.setLayoutParams(params);
+            LayoutTransaction.setLayoutParams(view, params);
         } else {
             if (ProteusConstants.isLoggingEnabled()) {
                 Log.e(TAG, "cannot add relative layout rules when container is not relative");
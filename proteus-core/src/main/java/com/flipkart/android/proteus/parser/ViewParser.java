@@ -37,6 +37,7 @@ import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.RelativeLayout;
 
+import com.flipkart.android.proteus.LayoutTransaction;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
@@ -141,6 +142,8 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
         addAttributeProcessor(Attributes.View.Background, new DrawableResourceProcessor<V>() {
             @Override
             public void setDrawable(V view, Drawable drawable) {
+                // the padding of a nine patch background replaces the padding set before it
+                LayoutTransaction.commitPadding(view);
                 if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
                     //noinspection deprecation
                     view.setBackgroundDrawable(drawable);
@@ -156,7 +159,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
                 if (layoutParams != null) {
                     layoutParams.height = (int) dimension;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 }
             }
         });
@@ -167,7 +170,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
                 if (layoutParams != null) {
                     layoutParams.width = (int) dimension;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 }
             }
         });
@@ -178,7 +181,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 if (view.getLayoutParams() instanceof LinearLayout.LayoutParams) {
                     layoutParams = (LinearLayout.LayoutParams) view.getLayoutParams();
                     layoutParams.weight = ParseHelper.parseFloat(value);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "'weight' is only supported for LinearLayouts");
@@ -195,11 +198,11 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                 if (layoutParams instanceof LinearLayout.LayoutParams) {
                     LinearLayout.LayoutParams linearLayoutParams = (LinearLayout.LayoutParams) layoutParams;
                     linearLayoutParams.gravity = gravity;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else if (layoutParams instanceof FrameLayout.LayoutParams) {
                     FrameLayout.LayoutParams linearLayoutParams = (FrameLayout.LayoutParams) layoutParams;
                     linearLayoutParams.gravity = gravity;
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "'layout_gravity' is only supported for LinearLayout and FrameLayout");
@@ -211,35 +214,35 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
         addAttributeProcessor(Attributes.View.Padding, new DimensionAttributeProcessor<V>() {
             @Override
             public void setDimension(V view, float dimension) {
-                view.setPadding((int) dimension, (int) dimension, (int) dimension, (int) dimension);
+                LayoutTransaction.setPadding(view, (int) dimension, (int) dimension, (int) dimension, (int) dimension);
             }
         });
 
         addAttributeProcessor(Attributes.View.PaddingLeft, new DimensionAttributeProcessor<V>() {
             @Override
             public void setDimension(V view, float dimension) {
-                view.setPadding((int) dimension, view.getPaddingTop(), view.getPaddingRight(), view.getPaddingBottom());
+                LayoutTransaction.setPadding(view, (int) dimension, LayoutTransaction.KEEP, LayoutTransaction.KEEP, LayoutTransaction.KEEP);
             }
         });
 
         addAttributeProcessor(Attributes.View.PaddingTop, new DimensionAttributeProcessor<V>() {
             @Override
             public void setDimension(V view, float dimension) {
-                view.setPadding(view.getPaddingLeft(), (int) dimension, view.getPaddingRight(), view.getPaddingBottom());
+                LayoutTransaction.setPadding(view, LayoutTransaction.KEEP, (int) dimension, LayoutTransaction.KEEP, LayoutTransaction.KEEP);
             }
         });
 
         addAttributeProcessor(Attributes.View.PaddingRight, new DimensionAttributeProcessor<V>() {
             @Override
             public void setDimension(V view, float dimension) {
-                view.setPadding(view.getPaddingLeft(), view.getPaddingTop(), (int) dimension, view.getPaddingBottom());
+                LayoutTransaction.setPadding(view, LayoutTransaction.KEEP, LayoutTransaction.KEEP, (int) dimension, LayoutTransaction.KEEP);
             }
         });
 
         addAttributeProcessor(Attributes.View.PaddingBottom, new DimensionAttributeProcessor<V>() {
             @Override
             public void setDimension(V view, float dimension) {
-                view.setPadding(view.getPaddingLeft(), view.getPaddingTop(), view.getPaddingRight(), (int) dimension);
+                LayoutTransaction.setPadding(view, LayoutTransaction.KEEP, LayoutTransaction.KEEP, LayoutTransaction.KEEP, (int) dimension);
             }
         });
 
@@ -250,7 +253,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                     ViewGroup.MarginLayoutParams layoutParams;
                     layoutParams = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
                     layoutParams.setMargins((int) dimension, (int) dimension, (int) dimension, (int) dimension);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "margins can only be applied to views with parent ViewGroup");
@@ -266,7 +269,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                     ViewGroup.MarginLayoutParams layoutParams;
                     layoutParams = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
                     layoutParams.setMargins((int) dimension, layoutParams.topMargin, layoutParams.rightMargin, layoutParams.bottomMargin);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "margins can only be applied to views with parent ViewGroup");
@@ -282,7 +285,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                     ViewGroup.MarginLayoutParams layoutParams;
                     layoutParams = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
                     layoutParams.setMargins(layoutParams.leftMargin, (int) dimension, layoutParams.rightMargin, layoutParams.bottomMargin);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "margins can only be applied to views with parent ViewGroup");
@@ -298,7 +301,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                     ViewGroup.MarginLayoutParams layoutParams;
                     layoutParams = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
                     layoutParams.setMargins(layoutParams.leftMargin, layoutParams.topMargin, (int) dimension, layoutParams.bottomMargin);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "margins can only be applied to views with parent ViewGroup");
@@ -314,7 +317,7 @@ public class ViewParser<V extends View> extends ViewTypeParser<V> {
                     ViewGroup.MarginLayoutParams layoutParams;
                     layoutParams = (ViewGroup.MarginLayoutParams) view.getLayoutParams();
                     layoutParams.setMargins(layoutParams.leftMargin, layoutParams.topMargin, layoutParams.rightMargin, (int) dimension);
-                    view.setLayoutParams(layoutParams);
+                    LayoutTransaction.setLayoutParams(view, layoutParams);
                 } else {
                     if (ProteusConstants.isLoggingEnabled()) {
                         Log.e(TAG, "margins can only be applied to views with parent ViewGroup");
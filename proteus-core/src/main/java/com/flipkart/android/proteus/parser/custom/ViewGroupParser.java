@@ -19,6 +19,7 @@
 
 package com.flipkart.android.proteus.parser.custom;
 
+import android.content.Context;
 import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -26,6 +27,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProgressiveInflater;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
@@ -125,6 +127,13 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
                 handleDataBoundChildren(view, value);
             }
 
+            @Nullable
+            @Override
+            public Value resolve(Binding binding, Context context, Value data, int index) {
+                // the children are inflated and updated on the main thread
+                return null;
+            }
+
             @Override
             public void handleValue(T view, Value value) {
                 handleChildren(view, value);
@@ -151,6 +160,12 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
     public boolean handleChildren(T view, Value children) {
         ProteusView proteusView = ((ProteusView) view);
         ProteusView.Manager viewManager = proteusView.getViewManager();
+        ProgressiveInflater progressiveInflater = viewManager.getContext().getProgressiveInflater();
+        if (null != progressiveInflater && children.isArray()) {
+            progressiveInflater.inflate(this, proteusView, children.getAsArray());
+            return true;
+        }
+
         ProteusLayoutInflater layoutInflater = viewManager.getContext().getInflater();
         ObjectValue data = viewManager.getDataContext().getData();
         int dataIndex = viewManager.getDataContext().getIndex();
@@ -57,6 +57,12 @@ public class WebViewParser<T extends WebView> extends ViewTypeParser<T> {
         return new ProteusWebView(context);
     }
 
+    @Override
+    public boolean isMainThreadOnly() {
+        // a WebView must be created on the thread of its looper
+        return true;
+    }
+
     @Override
     protected void addAttributeProcessors() {
 
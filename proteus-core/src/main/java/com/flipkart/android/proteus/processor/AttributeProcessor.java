@@ -41,41 +41,35 @@ import com.flipkart.android.proteus.value.Value;
  */
 public abstract class AttributeProcessor<V extends View> {
 
-    public static Value evaluate(final Context context, final Value input, final Value data, final int index) {
-        final Value[] output = new Value[1];
-
-        AttributeProcessor processor = new AttributeProcessor<View>() {
-
-            @Override
-            public void handleBinding(View view, Binding binding) {
-                output[0] = binding.evaluate(context, data, index);
-            }
-
-            @Override
-            public void handleValue(View view, Value value) {
-                output[0] = value;
-            }
-
-            @Override
-            public void handleResource(View view, Resource resource) {
-                output[0] = new Primitive(resource.getString(context));
-            }
-
-            @Override
-            public void handleAttributeResource(View view, AttributeResource attribute) {
-                output[0] = new Primitive(attribute.apply(context).getString(0));
-            }
-
-            @Override
-            public void handleStyleResource(View view, StyleResource style) {
-                output[0] = new Primitive(style.apply(context).getString(0));
-            }
-        };
-
-        //noinspection unchecked
-        processor.process(null, input);
-
-        return output[0];
+    /**
+     * Whether the class of this processor overrides {@link #handleBinding(View, Binding)},
+     * looked up once: {@code null} until then.
+     */
+    @Nullable
+    private Boolean handlesBinding;
+
+    /**
+     * Evaluates the input value on the data. Bindings are evaluated on the data and resources
+     * are resolved to their string values, any other value is returned as is. This method does not
+     * allocate unless a resource has to be resolved, or the binding allocates its result.
+     *
+     * @param context the {@link Context} of the caller.
+     * @param input   the value to evaluate.
+     * @param data    the data to evaluate bindings on.
+     * @param index   the data index.
+     * @return the evaluated value.
+     */
+    public static Value evaluate(Context context, Value input, Value data, int index) {
+        if (input.isBinding()) {
+            return input.getAsBinding().evaluate(context, data, index);
+        } else if (input.isResource()) {
+            return new Primitive(input.getAsResource().getString(context));
+        } else if (input.isAttributeResource()) {
+            return new Primitive(input.getAsAttributeResource().apply(context).getString(0));
+        } else if (input.isStyleResource()) {
+            return new Primitive(input.getAsStyleResource().apply(context).getString(0));
+        }
+        return input;
     }
 
     @Nullable
@@ -129,6 +123,36 @@ public abstract class AttributeProcessor<V extends View> {
         }
     }
 
+    /**
+     * Evaluates the binding of a bound attribute on the data, without touching the view, so
+     * that it can be called from a background thread. The result is later passed to
+     * {@link #handleValue(View, Value)} on the main thread. If this method returns {@code null}
+     * the binding is passed to {@link #handleBinding(View, Binding)} on the main thread instead,
+     * which is the default for processors which override {@link #handleBinding(View, Binding)}.
+     *
+     * @param binding the binding to evaluate.
+     * @param context the {@link Context} of the view.
+     * @param data    the data to evaluate the binding on.
+     * @param index   the data index.
+     * @return the evaluated value, or {@code null} if the binding must be handled on the main thread.
+     */
+    @Nullable
+    public Value resolve(Binding binding, Context context, Value data, int index) {
+        return handlesBinding() ? null : evaluate(binding, context, data, index);
+    }
+
+    private boolean handlesBinding() {
+        if (null == handlesBinding) {
+            try {
+                Class<?> declaring = getClass().getMethod("handleBinding", View.class, Binding.class).getDeclaringClass();
+                handlesBinding = declaring != AttributeProcessor.class;
+            } catch (NoSuchMethodException e) {
+                handlesBinding = true;
+            }
+        }
+        return handlesBinding;
+    }
+
     public void handleBinding(V view, Binding value) {
         DataContext dataContext = ((ProteusView) view).getViewManager().getDataContext();
         Value resolved = evaluate(value, view.getContext(), dataContext.getData(), dataContext.getIndex());
@@ -145,6 +169,12 @@ public abstract class AttributeProcessor<V extends View> {
 
     public Value precompile(Value value, Context context, FunctionManager manager) {
         Value compiled = staticPreCompile(value, context, manager);
+        if (compiled instanceof Binding.FunctionBinding) {
+            Value folded = ((Binding.FunctionBinding) compiled).fold(context);
+            if (null != folded) {
+                return compile(folded, context);
+            }
+        }
         return null != compiled ? compiled : compile(value, context);
     }
 
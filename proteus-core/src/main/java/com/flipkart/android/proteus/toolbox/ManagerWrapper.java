@@ -26,6 +26,7 @@ import android.view.View;
 import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
 
@@ -52,6 +53,11 @@ public class ManagerWrapper implements ProteusView.Manager {
         base.update(data);
     }
 
+    @Override
+    public void update(@Nullable ObjectValue data, @NonNull DataBinding[] paths) {
+        base.update(data, paths);
+    }
+
     @Nullable
     @Override
     public View findViewById(@NonNull String id) {
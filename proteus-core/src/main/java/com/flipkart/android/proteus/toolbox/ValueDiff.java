@@ -0,0 +1,140 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus.toolbox;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ValueDiff
+ * <p>
+ * Compares two data trees and returns the data paths at which they differ. The result can be
+ * passed to {@link com.flipkart.android.proteus.ProteusView.Manager#update(ObjectValue, DataBinding[])}
+ * so that only the views which depend on the changed paths are updated when a fresh payload
+ * replaces the current data.
+ * </p>
+ * <p>
+ * Identical references are never descended into, so payloads which share their unchanged
+ * subtrees with the previous payload are compared in time proportional to the change.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ValueDiff {
+
+    private static final DataBinding ROOT = DataBinding.valueOf("");
+
+    private static final DataBinding[] NONE = new DataBinding[0];
+
+    private static final DataBinding[] ALL = new DataBinding[]{ROOT};
+
+    private ValueDiff() {
+    }
+
+    /**
+     * Returns the data paths at which {@code next} differs from {@code previous}. A path is
+     * reported once, at the outermost value which has been added, removed or replaced by a
+     * value of another type; changes inside objects and arrays are reported at the path of
+     * the changed member or index.
+     *
+     * @param previous the current data, or {@code null} if there is none.
+     * @param next     the new data.
+     * @return the changed paths, empty if the trees are equal.
+     */
+    @NonNull
+    public static DataBinding[] diff(@Nullable ObjectValue previous, @NonNull ObjectValue next) {
+        if (previous == next) {
+            return NONE;
+        }
+        if (null == previous) {
+            return ALL;
+        }
+        List<DataBinding> paths = new ArrayList<>();
+        diff(previous, next, new StringBuilder(), paths);
+        return paths.isEmpty() ? NONE : paths.toArray(new DataBinding[paths.size()]);
+    }
+
+    private static void diff(@NonNull Value previous, @NonNull Value next, @NonNull StringBuilder path,
+                             @NonNull List<DataBinding> paths) {
+        if (previous == next) {
+            return;
+        }
+        if (previous.isObject() && next.isObject()) {
+            diff(previous.getAsObject(), next.getAsObject(), path, paths);
+        } else if (previous.isArray() && next.isArray()) {
+            diff(previous.getAsArray(), next.getAsArray(), path, paths);
+        } else if (previous.getClass() != next.getClass() || !previous.equals(next)) {
+            paths.add(DataBinding.valueOf(path.toString()));
+        }
+    }
+
+    private static void diff(@NonNull ObjectValue previous, @NonNull ObjectValue next, @NonNull StringBuilder path,
+                             @NonNull List<DataBinding> paths) {
+        int length = path.length();
+        for (Map.Entry<String, Value> entry : previous.entrySet()) {
+            append(path, entry.getKey());
+            Value value = next.get(entry.getKey());
+            if (null == value) {
+                paths.add(DataBinding.valueOf(path.toString()));
+            } else {
+                diff(entry.getValue(), value, path, paths);
+            }
+            path.setLength(length);
+        }
+        for (Map.Entry<String, Value> entry : next.entrySet()) {
+            if (!previous.has(entry.getKey())) {
+                append(path, entry.getKey());
+                paths.add(DataBinding.valueOf(path.toString()));
+                path.setLength(length);
+            }
+        }
+    }
+
+    private static void diff(@NonNull Array previous, @NonNull Array next, @NonNull StringBuilder path,
+                             @NonNull List<DataBinding> paths) {
+        int length = path.length();
+        int size = Math.max(previous.size(), next.size());
+        for (int i = 0; i < size; i++) {
+            path.append(Binding.DELIMITER_ARRAY_OPENING).append(i).append(Binding.DELIMITER_ARRAY_CLOSING);
+            if (i >= previous.size() || i >= next.size()) {
+                paths.add(DataBinding.valueOf(path.toString()));
+            } else {
+                diff(previous.get(i), next.get(i), path, paths);
+            }
+            path.setLength(length);
+        }
+    }
+
+    private static void append(@NonNull StringBuilder path, @NonNull String property) {
+        if (path.length() > 0) {
+            path.append(Binding.DELIMITER_OBJECT);
+        }
+        path.append(property);
+    }
+}
@@ -37,6 +37,12 @@ public class Array extends Value {
 
     private final List<Value> values;
 
+    @Nullable
+    private Observer observer;
+
+    @Nullable
+    private String path;
+
     /**
      * Creates an empty Array.
      */
@@ -71,6 +77,7 @@ public class Array extends Value {
      */
     public void add(@Nullable Boolean bool) {
         values.add(bool == null ? Null.INSTANCE : new Primitive(bool));
+        onInserted(values.size() - 1);
     }
 
     /**
@@ -80,6 +87,7 @@ public class Array extends Value {
      */
     public void add(@Nullable Character character) {
         values.add(character == null ? Null.INSTANCE : new Primitive(character));
+        onInserted(values.size() - 1);
     }
 
     /**
@@ -89,6 +97,7 @@ public class Array extends Value {
      */
     public void add(@Nullable Number number) {
         values.add(number == null ? Null.INSTANCE : new Primitive(number));
+        onInserted(values.size() - 1);
     }
 
     /**
@@ -98,6 +107,7 @@ public class Array extends Value {
      */
     public void add(@Nullable String string) {
         values.add(string == null ? Null.INSTANCE : new Primitive(string));
+        onInserted(values.size() - 1);
     }
 
     /**
@@ -110,6 +120,7 @@ public class Array extends Value {
             value = Null.INSTANCE;
         }
         values.add(value);
+        onInserted(values.size() - 1);
     }
 
     /**
@@ -122,6 +133,7 @@ public class Array extends Value {
             value = Null.INSTANCE;
         }
         values.add(position, value);
+        onInserted(position);
     }
 
     /**
@@ -130,7 +142,11 @@ public class Array extends Value {
      * @param array the array whose values need to be added to the array.
      */
     public void addAll(@NonNull Array array) {
+        int start = values.size();
         values.addAll(array.values);
+        if (values.size() > start) {
+            onInserted(start);
+        }
     }
 
     /**
@@ -143,7 +159,14 @@ public class Array extends Value {
      * @throws IndexOutOfBoundsException if the specified index is outside the array bounds
      */
     public Value set(int index, @NonNull Value value) {
-        return values.set(index, value);
+        Value previous = values.set(index, value);
+        if (null != observer && previous != value) {
+            String path = getPath(index);
+            previous.observe(null, null);
+            value.observe(observer, path);
+            observer.onChanged(path);
+        }
+        return previous;
     }
 
     /**
@@ -155,7 +178,12 @@ public class Array extends Value {
      * @since 2.3
      */
     public boolean remove(@NonNull Value value) {
-        return values.remove(value);
+        int index = values.indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
     }
 
     /**
@@ -169,7 +197,12 @@ public class Array extends Value {
      * @since 2.3
      */
     public Value remove(int index) {
-        return values.remove(index);
+        Value previous = values.remove(index);
+        if (null != observer) {
+            previous.observe(null, null);
+            onShifted(index);
+        }
+        return previous;
     }
 
     /**
@@ -214,6 +247,47 @@ public class Array extends Value {
         return values.get(i);
     }
 
+    @Override
+    void observe(@Nullable Observer observer, @Nullable String path) {
+        this.observer = observer;
+        this.path = path;
+        for (int i = 0; i < values.size(); i++) {
+            values.get(i).observe(observer, null == observer ? null : getPath(i));
+        }
+    }
+
+    /**
+     * Notifies the observer of the values inserted at and after {@code position}. An append
+     * changes a single index; any other insertion shifts the indices of the values after it,
+     * so the whole array is reported as changed.
+     */
+    private void onInserted(int position) {
+        if (null == observer) {
+            return;
+        }
+        if (position == values.size() - 1) {
+            String path = getPath(position);
+            values.get(position).observe(observer, path);
+            observer.onChanged(path);
+        } else {
+            onShifted(position);
+        }
+    }
+
+    private void onShifted(int position) {
+        //noinspection ConstantConditions
+        for (int i = position; i < values.size(); i++) {
+            values.get(i).observe(observer, getPath(i));
+        }
+        //noinspection ConstantConditions
+        observer.onChanged(path);
+    }
+
+    @NonNull
+    private String getPath(int index) {
+        return path + Binding.DELIMITER_ARRAY_OPENING + index + Binding.DELIMITER_ARRAY_CLOSING;
+    }
+
     @Override
     public boolean equals(java.lang.Object o) {
         return (o == this) || (o instanceof Array && ((Array) o).values.equals(values));
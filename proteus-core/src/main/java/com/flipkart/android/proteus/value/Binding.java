@@ -29,13 +29,16 @@ import com.flipkart.android.proteus.Function;
 import com.flipkart.android.proteus.FunctionManager;
 import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.processor.AttributeProcessor;
-import com.flipkart.android.proteus.toolbox.Result;
 import com.flipkart.android.proteus.toolbox.SimpleArrayIterator;
 import com.flipkart.android.proteus.toolbox.Utils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,6 +70,12 @@ public abstract class Binding extends Value {
 
     public static final String DATA_PATH_DELIMITERS = ".]";
 
+    public static final String FUNCTION_PREFIX = "fn:";
+    public static final char FUNCTION_ARGS_OPENING = '(';
+    public static final char FUNCTION_ARGS_CLOSING = ')';
+    public static final char FUNCTION_ARGS_SEPARATOR = ',';
+    public static final char FUNCTION_ARGS_QUOTE = '\'';
+
     public static final char DELIMITER_OBJECT = '.';
     public static final char DELIMITER_ARRAY_OPENING = '[';
     public static final char DELIMITER_ARRAY_CLOSING = ']';
@@ -121,6 +130,36 @@ public abstract class Binding extends Value {
     @NonNull
     public abstract Value evaluate(Context context, Value data, int index);
 
+    /**
+     * Returns the data paths read by this {@code Binding}, ie. its own path for a {@link DataBinding}
+     * and the paths read by the arguments of a {@link FunctionBinding}. It is used to determine
+     * whether this binding needs to be evaluated again when some data paths change.
+     *
+     * @return the data paths read by this binding.
+     */
+    @NonNull
+    public abstract DataBinding[] getDependencies();
+
+    /**
+     * Checks if the value of this {@code Binding} could be affected by a change of the data
+     * at any of the specified paths.
+     *
+     * @param paths the data paths which have changed.
+     * @return {@code true} if any of the {@link #getDependencies()} intersect any of the paths.
+     * @see DataBinding#intersects(DataBinding)
+     */
+    public boolean isAffectedBy(@NonNull DataBinding[] paths) {
+        DataBinding[] dependencies = getDependencies();
+        for (DataBinding dependency : dependencies) {
+            for (DataBinding path : paths) {
+                if (dependency.intersects(path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns a {@code String} representation of this {@code Binding}.
      * This string can be parsed back into a {@code Binding} object using
@@ -131,6 +170,36 @@ public abstract class Binding extends Value {
     @NonNull
     public abstract String toString();
 
+    /**
+     * Collects the {@link #getDependencies()} of all the bindings in the specified values.
+     *
+     * @param values the values to look for bindings in.
+     * @return the data paths read by the bindings in the values.
+     */
+    @NonNull
+    protected static DataBinding[] getDependencies(@NonNull Value... values) {
+        List<DataBinding> dependencies = new ArrayList<>();
+        for (Value value : values) {
+            addDependencies(value, dependencies);
+        }
+        return dependencies.toArray(new DataBinding[dependencies.size()]);
+    }
+
+    private static void addDependencies(@NonNull Value value, @NonNull List<DataBinding> dependencies) {
+        if (value.isBinding()) {
+            dependencies.addAll(Arrays.asList(value.getAsBinding().getDependencies()));
+        } else if (value.isObject()) {
+            for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+                addDependencies(entry.getValue(), dependencies);
+            }
+        } else if (value.isArray()) {
+            Iterator<Value> iterator = value.getAsArray().iterator();
+            while (iterator.hasNext()) {
+                addDependencies(iterator.next(), dependencies);
+            }
+        }
+    }
+
     /**
      * Returns a copy of this {@code Binding}, and since {@code Binding}
      * is an immutable this method returns the object itself.
@@ -155,11 +224,43 @@ public abstract class Binding extends Value {
 
         private static final LruCache<String, DataBinding> DATA_BINDING_CACHE = new LruCache<>(64);
 
+        private static final int META_VALUE_CACHE_SIZE = 128;
+
+        /**
+         * Immutable values returned for {@link #INDEX}, shared across evaluations.
+         */
+        private static final Primitive[] INDEX_VALUES = new Primitive[META_VALUE_CACHE_SIZE];
+
+        /**
+         * Immutable values returned for {@link #ARRAY_DATA_LENGTH_REFERENCE}, shared across evaluations.
+         */
+        private static final Primitive[] LENGTH_VALUES = new Primitive[META_VALUE_CACHE_SIZE];
+
+        static {
+            // filled up front, the bindings are evaluated on any thread and the values are
+            // not safely published if they are created lazily
+            for (int i = 0; i < META_VALUE_CACHE_SIZE; i++) {
+                INDEX_VALUES[i] = new Primitive(String.valueOf(i));
+                LENGTH_VALUES[i] = new Primitive(i);
+            }
+        }
+
         @NonNull
         private final Token[] tokens;
 
+        @NonNull
+        private final DataBinding[] dependencies;
+
+        private final int hash;
+
         private DataBinding(@NonNull Token[] tokens) {
             this.tokens = tokens;
+            this.dependencies = new DataBinding[]{this};
+            int hash = 1;
+            for (Token token : tokens) {
+                hash = 31 * hash + token.value.hashCode();
+            }
+            this.hash = hash;
         }
 
         @NonNull
@@ -200,7 +301,7 @@ public abstract class Binding extends Value {
                 token = tokens[i];
                 if (token.isArrayIndex) {
                     try {
-                        index = getArrayIndex(token.value, dataIndex);
+                        index = getArrayIndex(token, dataIndex);
                     } catch (NumberFormatException e) {
                         return;
                     }
@@ -216,7 +317,7 @@ public abstract class Binding extends Value {
 
             if (token.isArrayIndex) {
                 try {
-                    index = getArrayIndex(token.value, dataIndex);
+                    index = getArrayIndex(token, dataIndex);
                 } catch (NumberFormatException e) {
                     return;
                 }
@@ -294,14 +395,13 @@ public abstract class Binding extends Value {
             return array.get(index);
         }
 
-        private static int getArrayIndex(@NonNull String token, int dataIndex) throws NumberFormatException {
-            int index;
-            if (INDEX.equals(token)) {
-                index = dataIndex;
-            } else {
-                index = Integer.parseInt(token);
+        private static int getArrayIndex(@NonNull Token token, int dataIndex) throws NumberFormatException {
+            if (token.type == Token.TYPE_DATA_INDEX) {
+                return dataIndex;
+            } else if (token.type == Token.TYPE_ARRAY_INDEX) {
+                return token.index;
             }
-            return index;
+            throw new NumberFormatException("not an array index: " + token.value);
         }
 
         @NonNull
@@ -324,80 +424,84 @@ public abstract class Binding extends Value {
             return tokens;
         }
 
+        /**
+         * Resolves the tokens on the data. The type of each token is computed when the
+         * binding is created, hence this method does not parse any strings, and does not
+         * allocate for the common meta values {@link #INDEX} and {@link #ARRAY_DATA_LENGTH_REFERENCE}.
+         *
+         * @return the resolved value, or {@link Null#INSTANCE} if the data path does not exist.
+         */
         @NonNull
-        private static Result resolve(Token[] tokens, Value data, int index) {
+        private static Value resolve(Token[] tokens, Value data, int index) {
             // replace INDEX with index value
-            if (tokens.length == 1 && INDEX.equals(tokens[0].value)) {
-                return Result.success(new Primitive(String.valueOf(index)));
-            } else {
-                Value elementToReturn = data;
-                Value tempElement;
-                Array tempArray;
-
-                for (int i = 0; i < tokens.length; i++) {
-                    String segment = tokens[i].value;
-                    if (elementToReturn == null) {
-                        return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                    }
-                    if (elementToReturn.isNull()) {
-                        return Result.NULL_EXCEPTION;
-                    }
-                    if ("".equals(segment)) {
-                        continue;
+            if (tokens.length == 1 && tokens[0].type == Token.TYPE_DATA_INDEX) {
+                return getIndexValue(index);
+            }
+
+            Value elementToReturn = data;
+            Array tempArray;
+            Token token;
+            int position;
+
+            for (int i = 0; i < tokens.length; i++) {
+                token = tokens[i];
+                if (elementToReturn == null || elementToReturn.isNull()) {
+                    return Null.INSTANCE;
+                }
+                if (token.type == Token.TYPE_EMPTY) {
+                    continue;
+                }
+                if (elementToReturn.isArray()) {
+                    tempArray = elementToReturn.getAsArray();
+                    switch (token.type) {
+                        case Token.TYPE_ARRAY_INDEX:
+                            position = token.index;
+                            break;
+                        case Token.TYPE_DATA_INDEX:
+                            position = index;
+                            break;
+                        case Token.TYPE_LAST_INDEX:
+                            position = tempArray.size() - 1;
+                            break;
+                        case Token.TYPE_LENGTH:
+                            elementToReturn = getLengthValue(tempArray.size());
+                            continue;
+                        default:
+                            return Null.INSTANCE;
                     }
-                    if (elementToReturn.isArray()) {
-                        tempArray = elementToReturn.getAsArray();
-
-                        if (INDEX.equals(segment)) {
-                            if (index < tempArray.size()) {
-                                elementToReturn = tempArray.get(index);
-                            } else {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                        } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(segment)) {
-                            elementToReturn = new Primitive(tempArray.size());
-                        } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(segment)) {
-                            if (tempArray.size() == 0) {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                            elementToReturn = tempArray.get(tempArray.size() - 1);
-                        } else {
-                            try {
-                                index = Integer.parseInt(segment);
-                            } catch (NumberFormatException e) {
-                                return Result.INVALID_DATA_PATH_EXCEPTION;
-                            }
-                            if (index < tempArray.size()) {
-                                elementToReturn = tempArray.get(index);
-                            } else {
-                                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                            }
-                        }
-                    } else if (elementToReturn.isObject()) {
-                        tempElement = elementToReturn.getAsObject().get(segment);
-                        if (tempElement != null) {
-                            elementToReturn = tempElement;
-                        } else {
-                            return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-                        }
-                    } else if (elementToReturn.isPrimitive()) {
-                        return Result.INVALID_DATA_PATH_EXCEPTION;
-                    } else {
-                        return Result.NO_SUCH_DATA_PATH_EXCEPTION;
+                    if (position < 0 || position >= tempArray.size()) {
+                        return Null.INSTANCE;
                     }
+                    elementToReturn = tempArray.get(position);
+                } else if (elementToReturn.isObject()) {
+                    elementToReturn = elementToReturn.getAsObject().get(token.value);
+                } else {
+                    return Null.INSTANCE;
                 }
-                if (elementToReturn.isNull()) {
-                    return Result.NULL_EXCEPTION;
-                }
-                return Result.success(elementToReturn);
             }
+            return null != elementToReturn ? elementToReturn : Null.INSTANCE;
+        }
+
+        @NonNull
+        private static Primitive getIndexValue(int index) {
+            if (index < 0 || index >= META_VALUE_CACHE_SIZE) {
+                return new Primitive(String.valueOf(index));
+            }
+            return INDEX_VALUES[index];
+        }
+
+        @NonNull
+        private static Primitive getLengthValue(int length) {
+            if (length >= META_VALUE_CACHE_SIZE) {
+                return new Primitive(length);
+            }
+            return LENGTH_VALUES[length];
         }
 
         @NonNull
         @Override
         public Value evaluate(Context context, Value data, int index) {
-            Result result = resolve(tokens, data, index);
-            return result.isSuccess() ? result.value : Null.INSTANCE;
+            return resolve(tokens, data, index);
         }
 
         @NonNull
@@ -416,9 +520,74 @@ public abstract class Binding extends Value {
             return new SimpleArrayIterator<>(this.tokens);
         }
 
+        @NonNull
+        @Override
+        public DataBinding[] getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * Checks if this data path and the specified data path can refer to the same value,
+         * or one can refer to a value nested inside the value referred by the other, ie. one
+         * path is a prefix of the other. The meta values {@link #INDEX}, {@link #ARRAY_DATA_LENGTH_REFERENCE}
+         * and {@link #ARRAY_DATA_LAST_INDEX_REFERENCE} match any segment, hence the check
+         * can have false positives but never false negatives.
+         *
+         * @param path the other data path.
+         * @return {@code true} if the data paths intersect.
+         */
+        public boolean intersects(@NonNull DataBinding path) {
+            int length = Math.min(tokens.length, path.tokens.length);
+            Token a, b;
+            for (int i = 0; i < length; i++) {
+                a = tokens[i];
+                b = path.tokens[i];
+                if (a.type == Token.TYPE_EMPTY || b.type == Token.TYPE_EMPTY) {
+                    // empty segments are skipped when resolving, the paths cannot be compared further.
+                    return true;
+                }
+                if (a.isMetaValue() || b.isMetaValue()) {
+                    continue;
+                }
+                if (a.type == Token.TYPE_ARRAY_INDEX && b.type == Token.TYPE_ARRAY_INDEX) {
+                    if (a.index != b.index) {
+                        return false;
+                    }
+                } else if (!a.value.equals(b.value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public void assign(Value value, Value data, int index) {
             assign(tokens, value, data, index);
         }
+
+        @Override
+        public boolean equals(java.lang.Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DataBinding) || hash != ((DataBinding) o).hash) {
+                return false;
+            }
+            Token[] other = ((DataBinding) o).tokens;
+            if (tokens.length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i].type != other[i].type || !tokens[i].value.equals(other[i].value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
     /**
@@ -427,8 +596,8 @@ public abstract class Binding extends Value {
      * function call. eg. @{ fn:add(1,2) }, @{ fn:and(@{a.b}, @{a.c}) }.
      * The format is @{  fn&lt;name>:(&lt;arguments&gt;) }, where &lt;name&gt;
      * is the name of the function and &lt;arguments&gt; is are comma separated
-     * arguments. Note that the arguments can be values (strings should be in single quotes) or
-     * {@link DataBinding} but NOT {@code FunctionBinding}.
+     * arguments. Note that the arguments can be values (strings should be in single quotes),
+     * {@link DataBinding} or nested function calls eg. @{ fn:add(fn:length(@{items}),1) }.
      * </p>
      *
      * @author adityasharat
@@ -441,39 +610,149 @@ public abstract class Binding extends Value {
         @Nullable
         private final Value[] arguments;
 
+        /**
+         * {@code true} if none of the {@link #arguments} need to be evaluated,
+         * in which case they are passed to the {@link #function} as is.
+         */
+        private final boolean isStatic;
+
+        /**
+         * A reusable array for the evaluated arguments, so that an evaluation
+         * does not allocate a new array. It is claimed using {@link #isBufferInUse}
+         * and a new array is allocated if it is already in use.
+         */
+        @Nullable
+        private final Value[] buffer;
+
+        @NonNull
+        private final AtomicBoolean isBufferInUse = new AtomicBoolean();
+
+        @Nullable
+        private DataBinding[] dependencies;
+
+        private final int hash;
+
         public FunctionBinding(@NonNull Function function, @Nullable Value[] arguments) {
             this.arguments = arguments;
             this.function = function;
+            this.isStatic = null != arguments && isStatic(arguments);
+            this.buffer = null != arguments && !isStatic ? new Value[arguments.length] : null;
+            this.hash = 31 * function.hashCode() + Arrays.hashCode(arguments);
         }
 
+        /**
+         * Compiles a function call into a {@code FunctionBinding}. Each argument can be a quoted
+         * string, a value, a {@link DataBinding}, or a nested function call which is written
+         * either as {@code fn:name(args)} or {@code @{fn:name(args)}}. Nested calls to a
+         * {@link Function#isPure() pure} function with constant arguments are evaluated here
+         * and replaced by their result.
+         *
+         * @param name    the name of the function.
+         * @param args    the comma separated arguments of the function.
+         * @param context the {@link Context} of the caller.
+         * @param manager the {@link FunctionManager} to look up the functions.
+         * @return a new {@code FunctionBinding}.
+         */
         public static FunctionBinding valueOf(@NonNull String name, @NonNull String args, Context context, @NonNull FunctionManager manager) {
             Function function = manager.get(name);
-            String[] tokens = FUNCTION_ARGS_DELIMITER.split(args);
+            String[] tokens = split(args);
             Value[] arguments = new Value[tokens.length];
-            String token;
-            Value resolved;
             for (int i = 0; i < tokens.length; i++) {
-                token = tokens[i].trim();
-                if (!token.isEmpty() && token.charAt(0) == '\'') {
-                    token = token.substring(1, token.length() - 1);
-                    resolved = new Primitive(token);
-                } else {
-                    resolved = AttributeProcessor.staticPreCompile(new Primitive(token), context, manager);
-                }
-                arguments[i] = resolved != null ? resolved : new Primitive(token);
+                arguments[i] = compile(tokens[i].trim(), context, manager);
             }
             return new FunctionBinding(function, arguments);
         }
 
-        private static Value[] resolve(Context context, Value[] in, Value data, int index) {
+        @NonNull
+        private static Value compile(@NonNull String token, Context context, @NonNull FunctionManager manager) {
+            Value resolved;
+            int start = token.indexOf(FUNCTION_ARGS_OPENING);
+            if (!token.isEmpty() && token.charAt(0) == FUNCTION_ARGS_QUOTE) {
+                return new Primitive(token.substring(1, token.length() - 1));
+            } else if (token.startsWith(FUNCTION_PREFIX) && start > 0 && token.charAt(token.length() - 1) == FUNCTION_ARGS_CLOSING) {
+                resolved = valueOf(token.substring(FUNCTION_PREFIX.length(), start), token.substring(start + 1, token.length() - 1), context, manager);
+            } else {
+                resolved = AttributeProcessor.staticPreCompile(new Primitive(token), context, manager);
+            }
+            if (resolved instanceof FunctionBinding) {
+                Value folded = ((FunctionBinding) resolved).fold(context);
+                if (null != folded) {
+                    return folded;
+                }
+            }
+            return resolved != null ? resolved : new Primitive(token);
+        }
 
-            //noinspection ConstantConditions because we want it to crash, it is an illegal state anyway
-            Value[] out = new Value[in.length];
+        /**
+         * Splits the arguments at the commas which are neither quoted nor inside a nested
+         * function call or binding.
+         */
+        @NonNull
+        private static String[] split(@NonNull String args) {
+            List<String> tokens = new ArrayList<>();
+            boolean quoted = false;
+            int depth = 0;
+            int start = 0;
+            char c;
+            for (int i = 0; i < args.length(); i++) {
+                c = args.charAt(i);
+                if (c == FUNCTION_ARGS_QUOTE && (i == 0 || args.charAt(i - 1) != '\\')) {
+                    quoted = !quoted;
+                } else if (quoted) {
+                    continue;
+                } else if (c == FUNCTION_ARGS_OPENING || c == BINDING_PREFIX_1) {
+                    depth++;
+                } else if (c == FUNCTION_ARGS_CLOSING || c == BINDING_SUFFIX) {
+                    depth--;
+                } else if (c == FUNCTION_ARGS_SEPARATOR && depth == 0) {
+                    tokens.add(args.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            tokens.add(args.substring(start));
+            return tokens.toArray(new String[tokens.size()]);
+        }
+
+        private static boolean isStatic(@NonNull Value[] arguments) {
+            for (Value argument : arguments) {
+                if (argument.isBinding() || argument.isResource() || argument.isAttributeResource() || argument.isStyleResource()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return {@code true} if this binding always evaluates to the same value, ie. the
+         * {@link #function} is {@link Function#isPure() pure} and all the arguments are constants.
+         */
+        public boolean isConstant() {
+            return isStatic && function.isPure();
+        }
+
+        /**
+         * Evaluates this binding once if it is {@link #isConstant() constant}.
+         *
+         * @param context the {@link Context} of the caller.
+         * @return the result of the function call, or {@code null} if this binding
+         * is not constant or the function call failed.
+         */
+        @Nullable
+        public Value fold(Context context) {
+            if (!isConstant()) {
+                return null;
+            }
+            try {
+                return this.function.call(context, null, -1, arguments);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private static void resolve(Context context, Value[] in, Value[] out, Value data, int index) {
             for (int i = 0; i < in.length; i++) {
                 out[i] = AttributeProcessor.evaluate(context, in[i], data, index);
             }
-
-            return out;
         }
 
         public Iterator<Value> getTokens() {
@@ -483,7 +762,40 @@ public abstract class Binding extends Value {
         @NonNull
         @Override
         public Value evaluate(Context context, Value data, int index) {
-            Value[] arguments = resolve(context, this.arguments, data, index);
+            BindingMemo memo = function.isPure() ? BindingMemo.current() : null;
+            if (null == memo) {
+                return compute(context, data, index);
+            }
+            Value value = memo.get(this, data, index);
+            if (null == value) {
+                value = compute(context, data, index);
+                memo.put(this, data, index, value);
+            }
+            return value;
+        }
+
+        @NonNull
+        private Value compute(Context context, Value data, int index) {
+            if (isStatic) {
+                return call(context, data, index, this.arguments);
+            }
+
+            boolean isBuffered = isBufferInUse.compareAndSet(false, true);
+            //noinspection ConstantConditions because we want it to crash, it is an illegal state anyway
+            Value[] arguments = isBuffered ? this.buffer : new Value[this.arguments.length];
+            try {
+                resolve(context, this.arguments, arguments, data, index);
+                return call(context, data, index, arguments);
+            } finally {
+                if (isBuffered) {
+                    Arrays.fill(arguments, null);
+                    isBufferInUse.set(false);
+                }
+            }
+        }
+
+        @NonNull
+        private Value call(Context context, Value data, int index, Value[] arguments) {
             try {
                 return this.function.call(context, data, index, arguments);
             } catch (Exception e) {
@@ -494,6 +806,32 @@ public abstract class Binding extends Value {
             }
         }
 
+        @NonNull
+        @Override
+        public DataBinding[] getDependencies() {
+            if (null == dependencies) {
+                dependencies = null != arguments ? getDependencies(arguments) : new DataBinding[0];
+            }
+            return dependencies;
+        }
+
+        @Override
+        public boolean equals(java.lang.Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FunctionBinding) || hash != ((FunctionBinding) o).hash) {
+                return false;
+            }
+            FunctionBinding other = (FunctionBinding) o;
+            return function == other.function && Arrays.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
         @NonNull
         @Override
         public String toString() {
@@ -501,8 +839,45 @@ public abstract class Binding extends Value {
         }
     }
 
+    /**
+     * <p>
+     * Token is a single segment of the data path of a {@link DataBinding}. The {@link #type}
+     * of the segment is computed once when the token is created, so that evaluating a binding
+     * does not compare or parse any strings.
+     * </p>
+     */
     public static class Token {
 
+        /**
+         * The segment is empty and is skipped during evaluation.
+         */
+        public static final int TYPE_EMPTY = 0;
+
+        /**
+         * The segment is a property name and can only be resolved on an {@link ObjectValue}.
+         */
+        public static final int TYPE_PROPERTY = 1;
+
+        /**
+         * The segment is a constant array index eg. @{a.e[8]}, held in {@link #index}.
+         */
+        public static final int TYPE_ARRAY_INDEX = 2;
+
+        /**
+         * The segment is {@link #INDEX} and resolves to the data index.
+         */
+        public static final int TYPE_DATA_INDEX = 3;
+
+        /**
+         * The segment is {@link #ARRAY_DATA_LENGTH_REFERENCE}.
+         */
+        public static final int TYPE_LENGTH = 4;
+
+        /**
+         * The segment is {@link #ARRAY_DATA_LAST_INDEX_REFERENCE}.
+         */
+        public static final int TYPE_LAST_INDEX = 5;
+
         @NonNull
         public final String value;
 
@@ -512,10 +887,46 @@ public abstract class Binding extends Value {
 
         public final boolean isBinding = false;
 
+        public final int type;
+
+        /**
+         * The parsed array index if the {@link #type} is {@link #TYPE_ARRAY_INDEX}, else -1.
+         */
+        public final int index;
+
         public Token(@NonNull String value, boolean isArray, boolean isArrayIndex) {
             this.value = value;
             this.isArray = isArray;
             this.isArrayIndex = isArrayIndex;
+
+            int index = -1;
+            int type;
+            if (value.isEmpty()) {
+                type = TYPE_EMPTY;
+            } else if (INDEX.equals(value)) {
+                type = TYPE_DATA_INDEX;
+            } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(value)) {
+                type = TYPE_LENGTH;
+            } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(value)) {
+                type = TYPE_LAST_INDEX;
+            } else {
+                try {
+                    index = Integer.parseInt(value);
+                    type = TYPE_ARRAY_INDEX;
+                } catch (NumberFormatException e) {
+                    type = TYPE_PROPERTY;
+                }
+            }
+            this.type = type;
+            this.index = index;
+        }
+
+        /**
+         * @return {@code true} if this token is one of {@link #INDEX}, {@link #ARRAY_DATA_LENGTH_REFERENCE}
+         * or {@link #ARRAY_DATA_LAST_INDEX_REFERENCE}, whose value depends on the data index or the data.
+         */
+        public boolean isMetaValue() {
+            return type == TYPE_DATA_INDEX || type == TYPE_LENGTH || type == TYPE_LAST_INDEX;
         }
 
         public static String[] getValues(Token[] tokens) {
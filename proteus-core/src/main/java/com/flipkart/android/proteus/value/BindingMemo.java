@@ -0,0 +1,129 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus.value;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+
+/**
+ * BindingMemo
+ * <p>
+ * A table of the results of {@link Binding} evaluations, scoped to an update pass. Between a
+ * {@link #begin()} and the matching {@link #end()} on a thread, evaluating an equal binding
+ * on the same data object and index returns the result of the first evaluation instead of
+ * evaluating it again. The table is discarded when the outermost pass ends.
+ * </p>
+ * <p>
+ * Only {@link Binding.FunctionBinding}s of {@link com.flipkart.android.proteus.Function#isPure() pure}
+ * functions are memoized; the data must not be mutated during a pass.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public final class BindingMemo {
+
+    private static final ThreadLocal<BindingMemo> MEMO = new ThreadLocal<BindingMemo>() {
+        @Override
+        protected BindingMemo initialValue() {
+            return new BindingMemo();
+        }
+    };
+
+    private final HashMap<Key, Value> values = new HashMap<>();
+
+    private final Key key = new Key();
+
+    private int depth;
+
+    private BindingMemo() {
+    }
+
+    /**
+     * Starts an update pass on the current thread. Passes can be nested, the memoized results
+     * are kept until the outermost pass {@link #end() ends}.
+     */
+    public static void begin() {
+        MEMO.get().depth++;
+    }
+
+    /**
+     * Ends an update pass on the current thread, and discards the memoized results if it
+     * was the outermost pass.
+     */
+    public static void end() {
+        BindingMemo memo = MEMO.get();
+        if (--memo.depth == 0) {
+            memo.values.clear();
+            memo.key.set(null, null, -1);
+        }
+    }
+
+    /**
+     * @return the memo of the current thread if an update pass is in progress, else {@code null}.
+     */
+    @Nullable
+    static BindingMemo current() {
+        BindingMemo memo = MEMO.get();
+        return memo.depth > 0 ? memo : null;
+    }
+
+    @Nullable
+    Value get(@NonNull Binding binding, Value data, int index) {
+        return values.get(key.set(binding, data, index));
+    }
+
+    void put(@NonNull Binding binding, Value data, int index, @NonNull Value value) {
+        values.put(new Key().set(binding, data, index), value);
+    }
+
+    private static class Key {
+
+        private Binding binding;
+
+        private Value data;
+
+        private int index;
+
+        private int hash;
+
+        Key set(Binding binding, Value data, int index) {
+            this.binding = binding;
+            this.data = data;
+            this.index = index;
+            this.hash = null != binding ? 31 * (31 * binding.hashCode() + System.identityHashCode(data)) + index : 0;
+            return this;
+        }
+
+        @Override
+        public boolean equals(java.lang.Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return data == other.data && index == other.index && binding.equals(other.binding);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
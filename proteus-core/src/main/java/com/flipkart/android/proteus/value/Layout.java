@@ -22,6 +22,7 @@ package com.flipkart.android.proteus.value;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.flipkart.android.proteus.InflationPlan;
 import com.flipkart.android.proteus.toolbox.Utils;
 
 import java.util.ArrayList;
@@ -49,6 +50,13 @@ public class Layout extends Value {
     @Nullable
     public final ObjectValue extras;
 
+    /**
+     * The plan this layout was compiled into, kept on the layout so that it can be
+     * looked up from any thread without a lock. It is not copied or merged.
+     */
+    @Nullable
+    private volatile InflationPlan plan;
+
     public Layout(@NonNull String type, @Nullable List<Attribute> attributes, @Nullable Map<String, Value> data, @Nullable ObjectValue extras) {
         this.type = type;
         this.attributes = attributes;
@@ -69,6 +77,15 @@ public class Layout extends Value {
         return new Layout(type, attributes, data, extras);
     }
 
+    @Nullable
+    public InflationPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(@Nullable InflationPlan plan) {
+        this.plan = plan;
+    }
+
     public Layout merge(Layout include) {
 
         List<Attribute> attributes = null;
@@ -83,14 +100,10 @@ public class Layout extends Value {
             attributes.addAll(include.attributes);
         }
 
-        Map<String, Value> data = null;
-        if (this.data != null) {
-            data = this.data;
-        }
+        Map<String, Value> data = this.data;
         if (include.data != null) {
-            if (data == null) {
-                data = new LinkedHashMap<>(include.data.size());
-            }
+            // copy the data of this layout instead of modifying it
+            data = null != this.data ? new LinkedHashMap<>(this.data) : new LinkedHashMap<String, Value>(include.data.size());
             data.putAll(include.data);
         }
 
@@ -21,6 +21,7 @@ package com.flipkart.android.proteus.value;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.Iterator;
 import java.util.Map;
@@ -37,6 +38,9 @@ public class NestedBinding extends Binding {
 
     private final Value value;
 
+    @Nullable
+    private DataBinding[] dependencies;
+
     private NestedBinding(Value value) {
         this.value = value;
     }
@@ -61,6 +65,15 @@ public class NestedBinding extends Binding {
         return evaluate(context, value, data, index);
     }
 
+    @NonNull
+    @Override
+    public DataBinding[] getDependencies() {
+        if (null == dependencies) {
+            dependencies = getDependencies(value);
+        }
+        return dependencies;
+    }
+
     @NonNull
     @Override
     public String toString() {
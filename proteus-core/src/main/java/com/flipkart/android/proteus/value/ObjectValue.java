@@ -19,6 +19,7 @@
 
 package com.flipkart.android.proteus.value;
 
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.HashMap;
@@ -35,6 +36,12 @@ public class ObjectValue extends Value {
 
     private final HashMap<String, Value> members = new HashMap<>();
 
+    @Nullable
+    private Observer observer;
+
+    @Nullable
+    private String path;
+
     @Override
     public ObjectValue copy() {
         ObjectValue result = new ObjectValue();
@@ -56,7 +63,15 @@ public class ObjectValue extends Value {
         if (value == null) {
             value = Null.INSTANCE;
         }
-        members.put(property, value);
+        Value previous = members.put(property, value);
+        if (null != observer && previous != value) {
+            String path = getPath(property);
+            if (null != previous) {
+                previous.observe(null, null);
+            }
+            value.observe(observer, path);
+            observer.onChanged(path);
+        }
     }
 
     /**
@@ -67,7 +82,40 @@ public class ObjectValue extends Value {
      * @since 1.3
      */
     public Value remove(String property) {
-        return members.remove(property);
+        Value previous = members.remove(property);
+        if (null != observer && null != previous) {
+            previous.observe(null, null);
+            observer.onChanged(getPath(property));
+        }
+        return previous;
+    }
+
+    /**
+     * Starts observing the mutations of this object and of all the objects and arrays nested
+     * in it. Every {@link #add(String, Value)}, {@link #remove(String)} and every mutation of
+     * a nested {@link Array} notifies the observer with the data path of the changed value,
+     * relative to this object. Values added later are observed as well. A value shared at two
+     * places in the tree is reported at the place where it was last added.
+     *
+     * @param observer the observer to notify, or {@code null} to stop observing.
+     */
+    public void observe(@Nullable Observer observer) {
+        observe(observer, null == observer ? null : "");
+    }
+
+    @Override
+    void observe(@Nullable Observer observer, @Nullable String path) {
+        this.observer = observer;
+        this.path = path;
+        for (Map.Entry<String, Value> entry : members.entrySet()) {
+            entry.getValue().observe(observer, null == observer ? null : getPath(entry.getKey()));
+        }
+    }
+
+    @NonNull
+    private String getPath(String property) {
+        //noinspection ConstantConditions
+        return path.isEmpty() ? property : path + Binding.DELIMITER_OBJECT + property;
     }
 
     /**
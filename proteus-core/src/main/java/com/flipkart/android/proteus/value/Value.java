@@ -19,6 +19,9 @@
 
 package com.flipkart.android.proteus.value;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
 /**
  * Value
  *
@@ -32,6 +35,17 @@ public abstract class Value {
      */
     public abstract Value copy();
 
+    /**
+     * Attaches the observer to this value and every value nested in it. Only
+     * {@link ObjectValue} and {@link Array} are mutable; other values ignore it.
+     *
+     * @param observer the observer to notify, or {@code null} to stop observing.
+     * @param path     the data path of this value relative to the observed root.
+     */
+    void observe(@Nullable Observer observer, @Nullable String path) {
+        // immutable values never change
+    }
+
     /**
      * provides check for verifying if this value is an array or not.
      *
@@ -347,4 +361,21 @@ public abstract class Value {
         throw new UnsupportedOperationException(getClass().getSimpleName());
     }
 
+    /**
+     * Observer
+     * <p>
+     * Receives the data path of every mutation of an observed {@link ObjectValue},
+     * including the objects and arrays nested in it.
+     *
+     * @see ObjectValue#observe(Observer)
+     */
+    public interface Observer {
+
+        /**
+         * Called after the value at the specified path has been added, replaced or removed.
+         *
+         * @param path the data path relative to the observed root, for example {@code user.addresses[2]}.
+         */
+        void onChanged(@NonNull String path);
+    }
 }
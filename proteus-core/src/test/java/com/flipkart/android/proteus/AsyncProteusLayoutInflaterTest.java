@@ -0,0 +1,210 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AsyncProteusLayoutInflaterTest
+ *
+ * @author adityasharat
+ */
+public class AsyncProteusLayoutInflaterTest {
+
+    private static final int CHILDREN = 1;
+
+    private static class Queue implements Executor {
+
+        final List<Runnable> runnables = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            runnables.add(command);
+        }
+
+        void run() {
+            List<Runnable> runnables = new ArrayList<>(this.runnables);
+            this.runnables.clear();
+            for (Runnable runnable : runnables) {
+                runnable.run();
+            }
+        }
+    }
+
+    private static ViewTypeParser parser(boolean mainThreadOnly) {
+        ViewTypeParser parser = mock(ViewTypeParser.class);
+        when(parser.isMainThreadOnly()).thenReturn(mainThreadOnly);
+        return parser;
+    }
+
+    private static ProteusContext context() {
+        ProteusContext context = mock(ProteusContext.class);
+        ViewTypeParser background = parser(false);
+        ViewTypeParser main = parser(true);
+        when(context.getParser("LinearLayout")).thenReturn(background);
+        when(context.getParser("TextView")).thenReturn(background);
+        when(context.getParser("include")).thenReturn(background);
+        when(context.getParser("WebView")).thenReturn(main);
+        return context;
+    }
+
+    private static Layout include(String name) {
+        ObjectValue extras = new ObjectValue();
+        extras.add(ProteusConstants.LAYOUT, new Primitive(name));
+        return new Layout("include", null, null, extras);
+    }
+
+    private static Layout group(Layout... children) {
+        Array array = new Array();
+        for (Layout child : children) {
+            array.add(child);
+        }
+        return new Layout("LinearLayout", Collections.singletonList(new Layout.Attribute(CHILDREN, array)), null, null);
+    }
+
+    @Test
+    public void main_thread_only() throws Exception {
+        ProteusContext context = context();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, new Queue(), new Queue());
+
+        assertThat(inflater.isMainThreadOnly(group(new Layout("TextView", null, null, null))), is(false));
+        assertThat(inflater.isMainThreadOnly(group(new Layout("WebView", null, null, null))), is(true));
+        // unknown types are created by the application
+        assertThat(inflater.isMainThreadOnly(group(new Layout("MapView", null, null, null))), is(true));
+    }
+
+    @Test
+    public void main_thread_only_include() throws Exception {
+        ProteusContext context = context();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, new Queue(), new Queue());
+        Layout layout = group(include("content"));
+
+        when(context.getLayout("content")).thenReturn(new Layout("TextView", null, null, null));
+        assertThat(inflater.isMainThreadOnly(layout), is(false));
+
+        // the result is computed again when the included layout is replaced
+        when(context.getLayout("content")).thenReturn(new Layout("WebView", null, null, null));
+        assertThat(inflater.isMainThreadOnly(layout), is(true));
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        ProteusContext context = context();
+        ProteusLayoutInflater sync = mock(ProteusLayoutInflater.class);
+        when(context.getInflater()).thenReturn(sync);
+        AsyncProteusLayoutInflater.InflateCallback callback = mock(AsyncProteusLayoutInflater.InflateCallback.class);
+        Queue executor = new Queue();
+        Queue main = new Queue();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, executor, main);
+
+        AsyncProteusLayoutInflater.Task task = inflater.inflate(group(), new ObjectValue(), callback);
+        task.cancel();
+        executor.run();
+        main.run();
+
+        assertThat(task.isCancelled(), is(true));
+        assertThat(task.isDone(), is(false));
+        verify(sync, never()).inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt());
+        verify(callback, never()).onInflated(any(ProteusView.class));
+    }
+
+    @Test
+    public void cancel_inflated() throws Exception {
+        ProteusContext context = context();
+        ProteusLayoutInflater sync = mock(ProteusLayoutInflater.class);
+        when(sync.inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenReturn(mock(ProteusView.class));
+        when(context.getInflater()).thenReturn(sync);
+        AsyncProteusLayoutInflater.InflateCallback callback = mock(AsyncProteusLayoutInflater.InflateCallback.class);
+        Queue executor = new Queue();
+        Queue main = new Queue();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, executor, main);
+
+        AsyncProteusLayoutInflater.Task task = inflater.inflate(group(), new ObjectValue(), callback);
+        executor.run();
+        // the view is built, but not handed to the callback yet
+        task.cancel();
+        main.run();
+
+        assertThat(task.isDone(), is(false));
+        verify(callback, never()).onInflated(any(ProteusView.class));
+    }
+
+    @Test
+    public void inflate() throws Exception {
+        ProteusContext context = context();
+        ProteusLayoutInflater sync = mock(ProteusLayoutInflater.class);
+        ProteusView view = mock(ProteusView.class);
+        when(sync.inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenReturn(view);
+        when(context.getInflater()).thenReturn(sync);
+        AsyncProteusLayoutInflater.InflateCallback callback = mock(AsyncProteusLayoutInflater.InflateCallback.class);
+        Queue executor = new Queue();
+        Queue main = new Queue();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, executor, main);
+
+        AsyncProteusLayoutInflater.Task task = inflater.inflate(group(), new ObjectValue(), callback);
+        executor.run();
+        main.run();
+
+        assertThat(task.isDone(), is(true));
+        verify(callback).onInflated(view);
+    }
+
+    @Test
+    public void fail() throws Exception {
+        ProteusContext context = context();
+        ProteusLayoutInflater sync = mock(ProteusLayoutInflater.class);
+        RuntimeException e = new RuntimeException();
+        when(sync.inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenThrow(e);
+        when(context.getInflater()).thenReturn(sync);
+        AsyncProteusLayoutInflater.InflateCallback callback = mock(AsyncProteusLayoutInflater.InflateCallback.class);
+        Queue executor = new Queue();
+        Queue main = new Queue();
+        AsyncProteusLayoutInflater inflater = new AsyncProteusLayoutInflater(context, executor, main);
+        Layout layout = group();
+
+        inflater.inflate(layout, new ObjectValue(), callback);
+        executor.run();
+        main.run();
+
+        // the partial tree is not built again on the main thread, but the next inflation is
+        verify(callback).onError(e);
+        assertThat(inflater.isMainThreadOnly(layout), is(true));
+    }
+}
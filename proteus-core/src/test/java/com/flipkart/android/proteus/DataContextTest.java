@@ -0,0 +1,159 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * DataContextTest
+ *
+ * @author adityasharat
+ */
+public class DataContextTest {
+
+    private final int[] calls = new int[1];
+
+    private Map<String, Value> scope() {
+        Map<String, Function> functions = new HashMap<>();
+        functions.put("count", new Function.Pure() {
+            @Override
+            public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+                calls[0]++;
+                return arguments[0];
+            }
+
+            @Override
+            public String getName() {
+                return "count";
+            }
+        });
+        FunctionManager manager = new FunctionManager(functions);
+
+        Map<String, Value> scope = new LinkedHashMap<>();
+        scope.put("name", Binding.valueOf("@{fn:count(@{user.name})}", null, manager));
+        scope.put("title", new Primitive("Hello"));
+        return scope;
+    }
+
+    private static ObjectValue data(String name) {
+        ObjectValue user = new ObjectValue();
+        user.addProperty("name", name);
+        ObjectValue data = new ObjectValue();
+        data.add("user", user);
+        return data;
+    }
+
+    @Test
+    public void update() throws Exception {
+        ObjectValue data = data("John");
+        DataContext dataContext = DataContext.create(null, data, 0, scope());
+        ObjectValue resolved = dataContext.getData();
+
+        assertThat(resolved.getAsString("name"), is("John"));
+        assertThat(resolved.getAsString("title"), is("Hello"));
+        assertThat(calls[0], is(1));
+
+        data.getAsObject("user").addProperty("name", "Jane");
+        dataContext.invalidate();
+        dataContext.update(null, data);
+
+        assertThat(dataContext.getData() == resolved, is(true));
+        assertThat(resolved.getAsString("name"), is("Jane"));
+        assertThat(calls[0], is(2));
+
+        dataContext.update(null, data("Jack"));
+
+        assertThat(resolved.getAsString("name"), is("Jack"));
+        assertThat(calls[0], is(3));
+    }
+
+    @Test
+    public void update_unchanged() throws Exception {
+        ObjectValue data = data("John");
+        DataContext dataContext = DataContext.create(null, data, 0, scope());
+
+        dataContext.update(null, data);
+        dataContext.update(null, data);
+
+        assertThat(calls[0], is(1));
+    }
+
+    @Test
+    public void update_paths() throws Exception {
+        ObjectValue data = data("John");
+        DataContext dataContext = DataContext.create(null, data, 0, scope());
+
+        data.addProperty("title", "Mr");
+        dataContext.update(null, data, new Binding.DataBinding[]{Binding.DataBinding.valueOf("title")});
+
+        assertThat(calls[0], is(1));
+
+        data.getAsObject("user").addProperty("name", "Jane");
+        dataContext.update(null, data, new Binding.DataBinding[]{Binding.DataBinding.valueOf("user.name")});
+
+        assertThat(dataContext.getData().getAsString("name"), is("Jane"));
+        assertThat(calls[0], is(2));
+
+        dataContext.update(null, data, null);
+
+        assertThat(calls[0], is(2));
+    }
+
+    @Test
+    public void update_local() throws Exception {
+        Map<String, Value> scope = new LinkedHashMap<>();
+        scope.put("user", Binding.valueOf("@{user}", null, null));
+        scope.put("name", Binding.valueOf("@{user.name}", null, null));
+        DataContext dataContext = DataContext.create(null, data("John"), 0, scope);
+        ObjectValue resolved = dataContext.getData();
+
+        assertThat(resolved.getAsString("name"), is("John"));
+
+        dataContext.update(null, data("Jane"));
+
+        assertThat(dataContext.getData() == resolved, is(false));
+        assertThat(dataContext.getData().getAsString("name"), is("Jane"));
+    }
+
+    @Test
+    public void resolve() throws Exception {
+        DataContext dataContext = DataContext.create(null, data("John"), 0, scope());
+        ObjectValue data = dataContext.getData();
+
+        ObjectValue resolved = dataContext.resolve(null, data("Jane"));
+
+        assertThat(resolved.getAsString("name"), is("Jane"));
+        assertThat(dataContext.getData() == data, is(true));
+        assertThat(data.getAsString("name"), is("John"));
+    }
+}
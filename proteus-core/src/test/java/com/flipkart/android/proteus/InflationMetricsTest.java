@@ -0,0 +1,79 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * InflationMetricsTest
+ *
+ * @author adityasharat
+ */
+public class InflationMetricsTest {
+
+    @Test
+    public void aggregate() throws Exception {
+        InflationMetrics metrics = new InflationMetrics();
+        Layout root = new Layout("LinearLayout", null, null, null);
+        Layout child = new Layout("TextView", null, null, null);
+
+        metrics.onInflateStart(root, "home");
+        metrics.onCreateView(root, 10);
+        metrics.onCreateViewManager(root, 5);
+        metrics.onInflateStart(child, null);
+        metrics.onCreateView(child, 20);
+        metrics.onHandleAttribute(child, 0, new Primitive("hello"), 3);
+        metrics.onHandleAttribute(child, 1, Binding.valueOf("@{user.name}", null, null), 4);
+        metrics.onInflateEnd(child, null, 30);
+        metrics.onHandleAttribute(root, 2, new Primitive("children"), 35);
+        metrics.onInflateEnd(root, "home", 50);
+
+        metrics.onInflateStart(child, null);
+        metrics.onCreateView(child, 20);
+        metrics.onInflateEnd(child, null, 20);
+
+        Map<String, InflationMetrics.Stats> types = metrics.getTypeStats();
+        assertThat(types.get("TextView").getViewCount(), is(2));
+        assertThat(types.get("TextView").getCreateViewTime(), is(40L));
+        assertThat(types.get("TextView").getAttributeCount(), is(2));
+        assertThat(types.get("TextView").getBindingCount(), is(1));
+        assertThat(types.get("LinearLayout").getCreateViewManagerTime(), is(5L));
+        assertThat(types.get("LinearLayout").getHandleAttributeTime(), is(5L));
+
+        InflationMetrics.Stats home = metrics.getLayoutStats().get("home");
+        assertThat(metrics.getLayoutStats().size(), is(1));
+        assertThat(home.getInflationCount(), is(1));
+        assertThat(home.getInflateTime(), is(50L));
+        assertThat(home.getViewCount(), is(2));
+        assertThat(home.getHandleAttributeTime(), is(12L));
+
+        metrics.reset();
+        assertThat(metrics.getTypeStats().isEmpty(), is(true));
+    }
+}
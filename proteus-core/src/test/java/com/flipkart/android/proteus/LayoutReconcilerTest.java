@@ -0,0 +1,88 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * LayoutReconcilerTest
+ *
+ * @author adityasharat
+ */
+public class LayoutReconcilerTest {
+
+    private static final int ID = 1;
+
+    private static Layout layout(String type, String id) {
+        return new Layout(type, Collections.singletonList(new Layout.Attribute(ID, new Primitive(id))), null, null);
+    }
+
+    @Test
+    public void key() throws Exception {
+        assertThat(LayoutReconciler.getKey(layout("TextView", "title"), ID), is("TextView#title"));
+        assertThat(LayoutReconciler.getKey(layout("TextView", "title"), -1), is("TextView"));
+        assertThat(LayoutReconciler.getKey(new Layout("TextView", null, null, null), ID), is("TextView"));
+    }
+
+    @Test
+    public void match_id_and_type() throws Exception {
+        String[] previous = {"TextView#title", "ImageView#title", "TextView"};
+        String[] keys = {"ImageView#title", "TextView#title", "TextView#subtitle"};
+
+        int[] matches = LayoutReconciler.match(previous, keys);
+
+        assertThat(matches[0], is(1));
+        assertThat(matches[1], is(0));
+        assertThat(matches[2], is(-1));
+    }
+
+    @Test
+    public void match_reorder() throws Exception {
+        String[] previous = {"TextView", "ImageView", "TextView", "TextView#title"};
+        String[] keys = {"TextView#title", "ImageView", "TextView", "TextView"};
+
+        int[] matches = LayoutReconciler.match(previous, keys);
+
+        assertThat(matches[0], is(3));
+        assertThat(matches[1], is(1));
+        // the children without an id keep their order among the children of their type
+        assertThat(matches[2], is(0));
+        assertThat(matches[3], is(2));
+    }
+
+    @Test
+    public void match_remove() throws Exception {
+        String[] previous = {"TextView", "ImageView", "TextView", "Button"};
+        String[] keys = {"TextView", "Button"};
+
+        int[] matches = LayoutReconciler.match(previous, keys);
+
+        assertThat(matches.length, is(2));
+        assertThat(matches[0], is(0));
+        assertThat(matches[1], is(3));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static com.flipkart.android.proteus.LayoutTransaction.KEEP;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LayoutTransactionTest
+ *
+ * @author adityasharat
+ */
+public class LayoutTransactionTest {
+
+    private static View view() {
+        View view = mock(View.class);
+        when(view.getPaddingLeft()).thenReturn(1);
+        when(view.getPaddingTop()).thenReturn(2);
+        when(view.getPaddingRight()).thenReturn(3);
+        when(view.getPaddingBottom()).thenReturn(4);
+        return view;
+    }
+
+    @Test
+    public void outside_transaction() throws Exception {
+        View view = view();
+        ViewGroup.LayoutParams params = mock(ViewGroup.LayoutParams.class);
+        LayoutTransaction.setLayoutParams(view, params);
+        LayoutTransaction.setPadding(view, 10, KEEP, KEEP, KEEP);
+
+        verify(view).setLayoutParams(params);
+        verify(view).setPadding(10, 2, 3, 4);
+    }
+
+    @Test
+    public void nested() throws Exception {
+        View view = view();
+        ViewGroup.LayoutParams params = mock(ViewGroup.LayoutParams.class);
+
+        LayoutTransaction.begin();
+        LayoutTransaction.setLayoutParams(view, params);
+        LayoutTransaction.begin();
+        LayoutTransaction.setLayoutParams(view, params);
+        LayoutTransaction.end();
+
+        verify(view, never()).setLayoutParams(any(ViewGroup.LayoutParams.class));
+
+        LayoutTransaction.end();
+
+        verify(view, times(1)).setLayoutParams(params);
+    }
+
+    @Test
+    public void keep() throws Exception {
+        View view = view();
+
+        LayoutTransaction.begin();
+        LayoutTransaction.setPadding(view, 10, KEEP, KEEP, KEEP);
+        LayoutTransaction.setPadding(view, KEEP, KEEP, 30, KEEP);
+        LayoutTransaction.setPadding(view, KEEP, 20, KEEP, KEEP);
+        LayoutTransaction.end();
+
+        verify(view, times(1)).setPadding(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(view).setPadding(10, 20, 30, 4);
+    }
+
+    @Test
+    public void commit() throws Exception {
+        View view = view();
+        View other = view();
+
+        LayoutTransaction.begin();
+        LayoutTransaction.setPadding(view, 10, 10, 10, 10);
+        LayoutTransaction.setPadding(other, 10, 10, 10, 10);
+        LayoutTransaction.commit(view);
+
+        verify(view).setPadding(10, 10, 10, 10);
+        verify(other, never()).setPadding(anyInt(), anyInt(), anyInt(), anyInt());
+
+        LayoutTransaction.end();
+
+        verify(view, times(1)).setPadding(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(other).setPadding(10, 10, 10, 10);
+    }
+
+    @Test
+    public void commit_padding() throws Exception {
+        View view = view();
+        ViewGroup.LayoutParams params = mock(ViewGroup.LayoutParams.class);
+
+        LayoutTransaction.begin();
+        LayoutTransaction.setLayoutParams(view, params);
+        LayoutTransaction.setPadding(view, 10, KEEP, KEEP, KEEP);
+        // a background with padding is set after the padding
+        LayoutTransaction.commitPadding(view);
+        view.setBackground(null);
+        LayoutTransaction.setPadding(view, KEEP, 20, KEEP, KEEP);
+        LayoutTransaction.end();
+
+        InOrder order = inOrder(view);
+        order.verify(view).setPadding(10, 2, 3, 4);
+        order.verify(view).setBackground(null);
+        order.verify(view).setLayoutParams(params);
+        order.verify(view).setPadding(1, 20, 3, 4);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * PendingUpdateTest
+ *
+ * @author adityasharat
+ */
+public class PendingUpdateTest {
+
+    private final DataBinding title = DataBinding.valueOf("title");
+
+    private final DataBinding name = DataBinding.valueOf("user.name");
+
+    @Test
+    public void merge_paths() throws Exception {
+        ObjectValue data = new ObjectValue();
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        PendingUpdate update = new PendingUpdate(data, new DataBinding[]{title});
+        update.merge(null, new DataBinding[]{name, title});
+        update.dispatch(manager);
+
+        verify(manager).update(data, new DataBinding[]{title, name});
+    }
+
+    @Test
+    public void full_update_supersedes_paths() throws Exception {
+        ObjectValue data = new ObjectValue();
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        PendingUpdate update = new PendingUpdate(data, new DataBinding[]{title});
+        update.merge(null, null);
+        update.merge(null, new DataBinding[]{name});
+        update.dispatch(manager);
+
+        verify(manager).update(data);
+        verify(manager, never()).update(any(ObjectValue.class), any(DataBinding[].class));
+    }
+
+    @Test
+    public void refresh_does_not_supersede_data() throws Exception {
+        ObjectValue first = new ObjectValue();
+        ObjectValue second = new ObjectValue();
+        first.addProperty("title", "first");
+        second.addProperty("title", "second");
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        PendingUpdate update = new PendingUpdate(first, null);
+        update.merge(second, null);
+        update.merge(null, null);
+        update.dispatch(manager);
+
+        verify(manager).update(second);
+        verify(manager, never()).update(first);
+    }
+}
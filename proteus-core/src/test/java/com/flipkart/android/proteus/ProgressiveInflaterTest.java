@@ -0,0 +1,170 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProgressiveInflaterTest
+ *
+ * @author adityasharat
+ */
+public class ProgressiveInflaterTest {
+
+    private final FrameDispatcher dispatcher = mock(FrameDispatcher.class);
+
+    private final ViewTypeParser parser = mock(ViewTypeParser.class);
+
+    private final ProteusLayoutInflater inflater = mock(ProteusLayoutInflater.class);
+
+    private final ProteusView parent = mock(ProteusView.class);
+
+    private final ViewGroup group = mock(ViewGroup.class);
+
+    private final Array children = new Array();
+
+    private final ProteusView[] views = new ProteusView[3];
+
+    private Runnable task;
+
+    private ProgressiveInflater progressiveInflater;
+
+    @Before
+    public void setUp() throws Exception {
+        ProteusContext context = mock(ProteusContext.class);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        Resources resources = mock(Resources.class);
+        when(context.getInflater()).thenReturn(inflater);
+        when(manager.getContext()).thenReturn(context);
+        when(manager.getDataContext()).thenReturn(DataContext.create(context, new ObjectValue(), -1));
+        when(resources.getDisplayMetrics()).thenReturn(new DisplayMetrics());
+        when(group.getResources()).thenReturn(resources);
+        when(parent.getAsView()).thenReturn(group);
+        when(parent.getViewManager()).thenReturn(manager);
+
+        Layout layout;
+        for (int i = 0; i < views.length; i++) {
+            layout = new Layout("View", null, null, null);
+            views[i] = mock(ProteusView.class);
+            when(views[i].getAsView()).thenReturn(mock(View.class));
+            when(inflater.inflate(layout, manager.getDataContext().getData(), group, -1)).thenReturn(views[i]);
+            children.add(layout);
+        }
+
+        progressiveInflater = new ProgressiveInflater(1, false) {
+            @Override
+            FrameDispatcher createDispatcher(Runnable task) {
+                ProgressiveInflaterTest.this.task = task;
+                return dispatcher;
+            }
+        };
+    }
+
+    private View.OnAttachStateChangeListener listener() {
+        ArgumentCaptor<View.OnAttachStateChangeListener> captor = ArgumentCaptor.forClass(View.OnAttachStateChangeListener.class);
+        verify(group).addOnAttachStateChangeListener(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void inflate_in_order() throws Exception {
+        progressiveInflater.inflate(parser, parent, children);
+
+        verify(parser).addView(parent, views[0]);
+        verify(parser, never()).addView(parent, views[1]);
+        verify(dispatcher).post();
+        assertThat(progressiveInflater.getPendingCount(), is(1));
+
+        while (progressiveInflater.getPendingCount() > 0) {
+            task.run();
+        }
+
+        InOrder order = inOrder(parser);
+        order.verify(parser).addView(parent, views[0]);
+        order.verify(parser).addView(parent, views[1]);
+        order.verify(parser).addView(parent, views[2]);
+        View.OnAttachStateChangeListener listener = listener();
+        verify(group).removeOnAttachStateChangeListener(listener);
+    }
+
+    @Test
+    public void flush() throws Exception {
+        progressiveInflater.inflate(parser, parent, children);
+        progressiveInflater.flush();
+
+        verify(parser).addView(parent, views[2]);
+        assertThat(progressiveInflater.getPendingCount(), is(0));
+        View.OnAttachStateChangeListener listener = listener();
+        verify(group).removeOnAttachStateChangeListener(listener);
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        progressiveInflater.inflate(parser, parent, children);
+        progressiveInflater.cancel(group);
+        task.run();
+
+        assertThat(progressiveInflater.getPendingCount(), is(0));
+        verify(parser, never()).addView(parent, views[1]);
+
+        // the rest of the children are inflated when the view group is attached again
+        listener().onViewAttachedToWindow(group);
+        assertThat(progressiveInflater.getPendingCount(), is(1));
+    }
+
+    @Test
+    public void detach() throws Exception {
+        progressiveInflater.inflate(parser, parent, children);
+        View.OnAttachStateChangeListener listener = listener();
+
+        listener.onViewDetachedFromWindow(group);
+        assertThat(progressiveInflater.getPendingCount(), is(0));
+
+        listener.onViewAttachedToWindow(group);
+        listener.onViewAttachedToWindow(group);
+        assertThat(progressiveInflater.getPendingCount(), is(1));
+
+        progressiveInflater.flush();
+        verify(parser, times(3)).addView(any(ProteusView.class), any(ProteusView.class));
+        verify(inflater, times(3)).inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt());
+    }
+}
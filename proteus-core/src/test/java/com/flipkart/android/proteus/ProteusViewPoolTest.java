@@ -0,0 +1,119 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProteusViewPoolTest
+ *
+ * @author adityasharat
+ */
+public class ProteusViewPoolTest {
+
+    private static ProteusView view(Layout layout, int index) {
+        ProteusView view = mock(ProteusView.class);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        DataContext dataContext = DataContext.create(mock(ProteusContext.class), new ObjectValue(), index);
+        View v = mock(View.class);
+        when(view.getViewManager()).thenReturn(manager);
+        when(view.getAsView()).thenReturn(v);
+        when(manager.getLayout()).thenReturn(layout);
+        when(manager.getDataContext()).thenReturn(dataContext);
+        return view;
+    }
+
+    @Test
+    public void inflate_recycled() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool(mock(ProteusContext.class), 4, 100);
+        ProteusView view = view(layout, -1);
+        ObjectValue data = new ObjectValue();
+
+        assertThat(pool.release(view), is(true));
+        assertThat(pool.release(view), is(false));
+        assertThat(pool.getCount(), is(1));
+
+        assertThat(pool.inflate(layout, data) == view, is(true));
+        verify(view.getViewManager()).update(data);
+        assertThat(pool.getCount(), is(0));
+        assertThat(pool.getSize(), is(0));
+        assertThat(pool.getHitCount(), is(1));
+        assertThat(pool.getMissCount(), is(0));
+    }
+
+    @Test
+    public void inflate_parent() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusContext context = mock(ProteusContext.class);
+        ProteusLayoutInflater inflater = mock(ProteusLayoutInflater.class);
+        when(context.getInflater()).thenReturn(inflater);
+        ProteusViewPool pool = new ProteusViewPool(context, 4, 100);
+        FrameLayout frame = mock(FrameLayout.class);
+        LinearLayout linear = mock(LinearLayout.class);
+        ProteusView view = view(layout, 0);
+        ObjectValue data = new ObjectValue();
+
+        pool.preload(view, frame.getClass());
+
+        // the layout params of the root were created for another type of parent
+        pool.inflate(layout, data, linear, 0);
+        verify(inflater).inflate(layout, data, linear, 0);
+        assertThat(pool.getMissCount(), is(1));
+
+        assertThat(pool.inflate(layout, data, frame, 0) == view, is(true));
+        assertThat(pool.getHitCount(), is(1));
+    }
+
+    @Test
+    public void bounds() throws Exception {
+        Layout layout = new Layout("View", null, null, null);
+        ProteusViewPool pool = new ProteusViewPool(mock(ProteusContext.class), 2, 100);
+        ProteusView first = view(layout, 0);
+        ProteusView second = view(layout, 1);
+        ProteusView third = view(layout, 2);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertThat(pool.getCount(), is(2));
+        assertThat(pool.getEvictionCount(), is(1));
+
+        pool.trimToSize(2, 1);
+
+        assertThat(pool.getCount(), is(1));
+        assertThat(pool.getSize(), is(1));
+        assertThat(pool.getEvictionCount(), is(2));
+    }
+}
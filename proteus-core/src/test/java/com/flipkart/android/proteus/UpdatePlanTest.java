@@ -0,0 +1,112 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.content.Context;
+import android.view.View;
+
+import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UpdatePlanTest
+ *
+ * @author adityasharat
+ */
+public class UpdatePlanTest {
+
+    private final ProteusContext context = mock(ProteusContext.class);
+
+    private final ViewTypeParser parser = mock(ViewTypeParser.class);
+
+    private final AttributeProcessor processor = mock(AttributeProcessor.class);
+
+    private final Value value = new Primitive("value");
+
+    private UpdatePlan.Node node(ViewManager manager, View view) {
+        BoundAttribute attribute = new BoundAttribute(0, mock(Binding.class));
+        DataContext dataContext = DataContext.create(context, new ObjectValue(), -1);
+        return new UpdatePlan.Node(manager, context, parser, view, dataContext, Collections.singletonList(attribute));
+    }
+
+    @Test
+    public void apply_skips_updated_views() throws Exception {
+        //noinspection unchecked
+        when(processor.resolve(any(Binding.class), any(Context.class), any(Value.class), anyInt())).thenReturn(value);
+        when(parser.getAttributeProcessor(0)).thenReturn(processor);
+
+        ViewManager manager = mock(ViewManager.class);
+        ViewManager childManager = mock(ViewManager.class);
+        when(manager.getGeneration()).thenReturn(1);
+        when(childManager.getGeneration()).thenReturn(1);
+        View view = mock(View.class);
+        View child = mock(View.class);
+        UpdatePlan.Node root = node(manager, view);
+        root.add(node(childManager, child));
+
+        ProteusView proteusView = mock(ProteusView.class);
+        when(proteusView.getViewManager()).thenReturn(manager);
+        when(manager.snapshot()).thenReturn(root);
+
+        UpdatePlan plan = UpdatePlan.snapshot(proteusView).resolve(new ObjectValue());
+        assertThat(plan.size(), is(2));
+
+        // the child is updated on its own after the snapshot was captured
+        when(childManager.getGeneration()).thenReturn(2);
+
+        assertThat(plan.apply(), is(true));
+        //noinspection unchecked
+        verify(processor).handleValue(view, value);
+        //noinspection unchecked
+        verify(processor, never()).handleValue(child, value);
+    }
+
+    @Test
+    public void apply_drops_updated_root() throws Exception {
+        ViewManager manager = mock(ViewManager.class);
+        when(manager.getGeneration()).thenReturn(1);
+        UpdatePlan.Node root = node(manager, mock(View.class));
+
+        ProteusView proteusView = mock(ProteusView.class);
+        when(proteusView.getViewManager()).thenReturn(manager);
+        when(manager.snapshot()).thenReturn(root);
+
+        UpdatePlan plan = UpdatePlan.snapshot(proteusView).resolve(new ObjectValue());
+        when(manager.getGeneration()).thenReturn(2);
+
+        assertThat(plan.apply(), is(false));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UpdateSchedulerTest
+ *
+ * @author adityasharat
+ */
+public class UpdateSchedulerTest {
+
+    private final FrameDispatcher dispatcher = mock(FrameDispatcher.class);
+
+    private Runnable task;
+
+    private UpdateScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new UpdateScheduler() {
+            @Override
+            FrameDispatcher createDispatcher(Runnable task) {
+                UpdateSchedulerTest.this.task = task;
+                return dispatcher;
+            }
+        };
+    }
+
+    private static ProteusView view() {
+        ProteusView view = mock(ProteusView.class);
+        ProteusView.Manager manager = mock(ProteusView.Manager.class);
+        when(view.getViewManager()).thenReturn(manager);
+        return view;
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        ProteusView first = view();
+        ProteusView second = view();
+        ObjectValue data = new ObjectValue();
+        ObjectValue latest = new ObjectValue();
+
+        scheduler.schedule(first, data);
+        scheduler.schedule(first, latest, new DataBinding[]{DataBinding.valueOf("title")});
+        scheduler.schedule(second, data);
+
+        verify(dispatcher, times(1)).post();
+        assertThat(scheduler.getPendingCount(), is(2));
+        assertThat(scheduler.getScheduledCount(), is(3));
+        assertThat(scheduler.getCoalescedCount(), is(1));
+
+        task.run();
+
+        verify(first.getViewManager()).update(latest);
+        verify(second.getViewManager()).update(data);
+        assertThat(scheduler.getPendingCount(), is(0));
+        assertThat(scheduler.getDispatchedCount(), is(2));
+        assertThat(scheduler.getFrameCount(), is(1));
+
+        // the next update is scheduled in another frame
+        scheduler.schedule(first, data);
+        verify(dispatcher, times(2)).post();
+    }
+
+    @Test
+    public void flush_and_cancel() throws Exception {
+        ProteusView first = view();
+        ProteusView second = view();
+        ObjectValue data = new ObjectValue();
+
+        scheduler.schedule(first, data);
+        scheduler.schedule(second, data);
+
+        assertThat(scheduler.flush(first), is(true));
+        assertThat(scheduler.flush(first), is(false));
+        verify(first.getViewManager()).update(data);
+
+        assertThat(scheduler.cancel(second), is(true));
+        task.run();
+        verify(second.getViewManager(), never()).update(data);
+        assertThat(scheduler.getDispatchedCount(), is(1));
+        assertThat(scheduler.getFrameCount(), is(0));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * ViewTypeParserTest
+ *
+ * @author adityasharat
+ */
+public class ViewTypeParserTest {
+
+    private final List<String> handled = new ArrayList<>();
+
+    private AttributeProcessor<View> processor(final String name) {
+        return new AttributeProcessor<View>() {
+            @Override
+            public void handleValue(View view, Value value) {
+                handled.add(name + "=" + value.getAsString());
+            }
+
+            @Override
+            public void handleResource(View view, Resource resource) {
+            }
+
+            @Override
+            public void handleAttributeResource(View view, AttributeResource attribute) {
+            }
+
+            @Override
+            public void handleStyleResource(View view, StyleResource style) {
+            }
+        };
+    }
+
+    private ViewTypeParser<View> parser(final String type, final String parentType, final String... attributes) {
+        return new ViewTypeParser<View>() {
+            @NonNull
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Nullable
+            @Override
+            public String getParentType() {
+                return parentType;
+            }
+
+            @NonNull
+            @Override
+            public ProteusView createView(@NonNull ProteusContext context, @NonNull Layout layout, @NonNull ObjectValue data,
+                                          @Nullable ViewGroup parent, int dataIndex) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected void addAttributeProcessors() {
+                for (String attribute : attributes) {
+                    addAttributeProcessor(attribute, processor(type + "." + attribute));
+                }
+            }
+        };
+    }
+
+    @Test
+    public void dispatch() throws Exception {
+        ViewTypeParser<View> view = parser("View", null, "a", "b");
+        ViewTypeParser<View> group = parser("ViewGroup", "View", "c");
+        ViewTypeParser<View> text = parser("TextView", "View", "d", "a");
+        view.prepare(null, null);
+        group.prepare(view, null);
+        text.prepare(view, Collections.<String, AttributeProcessor<View>>singletonMap("e", processor("TextView.e")));
+
+        for (String name : new String[]{"a", "b", "d", "e"}) {
+            text.handleAttribute(null, text.getAttributeId(name), new Primitive(name));
+        }
+        group.handleAttribute(null, group.getAttributeId("c"), new Primitive("c"));
+        group.handleAttribute(null, group.getAttributeId("a"), new Primitive("a"));
+
+        assertThat(handled.toString(), is("[TextView.a=a, View.b=b, TextView.d=d, TextView.e=e, ViewGroup.c=c, View.a=a]"));
+        assertThat(text.getAttributeId("c"), is(-1));
+        assertThat(text.handleAttribute(null, 10, new Primitive("x")), is(false));
+        assertThat(text.getAttributeProcessor(text.getAttributeId("b")) == view.getAttributeProcessor(view.getAttributeId("b")), is(true));
+    }
+
+    @Test
+    public void overrides_handle_attribute() throws Exception {
+        ViewTypeParser<View> view = parser("View", null, "a");
+        ViewTypeParser<View> logging = new LoggingParser() {
+        };
+        ViewTypeParser<View> text = parser("TextView", "LoggingView", "b");
+        view.prepare(null, null);
+        logging.prepare(view, null);
+        text.prepare(logging, null);
+
+        assertThat(view.overridesHandleAttribute(), is(false));
+        assertThat(logging.overridesHandleAttribute(), is(true));
+        assertThat(text.overridesHandleAttribute(), is(true));
+    }
+
+    private static class LoggingParser extends ViewTypeParser<View> {
+
+        @NonNull
+        @Override
+        public String getType() {
+            return "LoggingView";
+        }
+
+        @Nullable
+        @Override
+        public String getParentType() {
+            return "View";
+        }
+
+        @NonNull
+        @Override
+        public ProteusView createView(@NonNull ProteusContext context, @NonNull Layout layout, @NonNull ObjectValue data,
+                                      @Nullable ViewGroup parent, int dataIndex) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void addAttributeProcessors() {
+        }
+
+        @Override
+        public boolean handleAttribute(View view, int attributeId, Value value) {
+            return super.handleAttribute(view, attributeId, value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding.DataBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * WriteBatchTest
+ *
+ * @author adityasharat
+ */
+public class WriteBatchTest {
+
+    @Test
+    public void apply() throws Exception {
+        ObjectValue data = new ObjectValue();
+        WriteBatch batch = new WriteBatch(data)
+                .assign(DataBinding.valueOf("user.name"), new Primitive("John"), 0)
+                .assign(DataBinding.valueOf("user.email"), new Primitive("john@example.com"), 0)
+                .assign(DataBinding.valueOf("user.name"), new Primitive("Jane"), 0);
+
+        assertThat(batch.size(), is(3));
+        assertThat(data.has("user"), is(false));
+
+        DataBinding[] paths = batch.apply();
+
+        assertThat(batch.size(), is(0));
+        assertThat(paths.length, is(2));
+        assertThat(paths[0].toString(), is("@{user.name}"));
+        assertThat(paths[1].toString(), is("@{user.email}"));
+        assertThat(data.getAsObject("user").getAsString("name"), is("Jane"));
+        assertThat(data.getAsObject("user").getAsString("email"), is("john@example.com"));
+    }
+}
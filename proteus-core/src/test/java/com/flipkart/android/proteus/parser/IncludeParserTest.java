@@ -0,0 +1,84 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.parser;
+
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * IncludeParserTest
+ *
+ * @author adityasharat
+ */
+public class IncludeParserTest {
+
+    private static Layout include(String name, Map<String, Value> data) {
+        ObjectValue extras = new ObjectValue();
+        extras.add(ProteusConstants.LAYOUT, new Primitive(name));
+        return new Layout("include", null, data, extras);
+    }
+
+    @Test
+    public void expand() throws Exception {
+        Map<String, Value> scope = new HashMap<>();
+        scope.put("title", new Primitive("Header"));
+        Layout header = new Layout("TextView", null, scope, null);
+
+        ProteusContext context = mock(ProteusContext.class);
+        when(context.getLayout("header")).thenReturn(header);
+
+        Layout include = include("header", Collections.<String, Value>singletonMap("subtitle", new Primitive("Sub")));
+        Layout merged = IncludeParser.expand(context, include);
+
+        assertThat(merged.type, is("TextView"));
+        //noinspection ConstantConditions
+        assertThat(merged.data.size(), is(2));
+        assertThat(scope.size(), is(1));
+        assertThat(IncludeParser.expand(context, include) == merged, is(true));
+    }
+
+    @Test(expected = ProteusInflateException.class)
+    public void expand_cycle() throws Exception {
+        ProteusContext context = mock(ProteusContext.class);
+        Array children = new Array();
+        children.add(include("a", null));
+        Layout a = new Layout("LinearLayout", Collections.singletonList(new Layout.Attribute(0, children)), null, null);
+        when(context.getLayout("a")).thenReturn(a);
+
+        IncludeParser.expand(context, include("a", null));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.processor;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * AttributeProcessorTest
+ *
+ * @author adityasharat
+ */
+public class AttributeProcessorTest {
+
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * A function which returns its first argument and does not allocate.
+     */
+    private static final Function FIRST = new Function() {
+        @NonNull
+        @Override
+        public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+            return arguments[0];
+        }
+
+        @Override
+        public String getName() {
+            return "first";
+        }
+    };
+
+    private static FunctionManager functions() {
+        Map<String, Function> functions = new HashMap<>();
+        functions.put(FIRST.getName(), FIRST);
+        return new FunctionManager(functions);
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread while evaluating the value
+     * {@link #ITERATIONS} times, after warming up.
+     */
+    private static long allocations(Value value, ObjectValue data, int index) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) {
+            AttributeProcessor.evaluate(null, value, data, index);
+        }
+        long start = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < ITERATIONS; i++) {
+            AttributeProcessor.evaluate(null, value, data, index);
+        }
+        return threads.getThreadAllocatedBytes(id) - start;
+    }
+
+    private static class ValueProcessor extends AttributeProcessor<View> {
+
+        @Override
+        public void handleValue(View view, Value value) {
+        }
+
+        @Override
+        public void handleResource(View view, Resource resource) {
+        }
+
+        @Override
+        public void handleAttributeResource(View view, AttributeResource attribute) {
+        }
+
+        @Override
+        public void handleStyleResource(View view, StyleResource style) {
+        }
+    }
+
+    @Test
+    public void resolve() throws Exception {
+        Binding binding = Binding.valueOf("@{a.b.c}", null, null);
+
+        assertThat(new ValueProcessor().resolve(binding, null, BindingTest.data(), 0).getAsInt(), is(10));
+    }
+
+    @Test
+    public void resolve_handle_binding_overridden() throws Exception {
+        Binding binding = Binding.valueOf("@{a.b.c}", null, null);
+        AttributeProcessor<View> processor = new ValueProcessor() {
+            @Override
+            public void handleBinding(View view, Binding value) {
+            }
+        };
+
+        assertThat(processor.resolve(binding, null, BindingTest.data(), 0) == null, is(true));
+    }
+
+    @Test
+    public void evaluate_value() throws Exception {
+        Value value = new Primitive("value");
+
+        assertThat(AttributeProcessor.evaluate(null, value, BindingTest.data(), 0), is(value));
+    }
+
+    @Test
+    public void evaluate_binding() throws Exception {
+        Value value = Binding.valueOf("@{fn:first(@{a.b.c})}", null, functions());
+
+        assertThat(AttributeProcessor.evaluate(null, value, BindingTest.data(), 0).getAsInt(), is(10));
+    }
+
+    @Test
+    public void evaluate_data_binding_does_not_allocate() throws Exception {
+        Value value = Binding.valueOf("@{a.b.c}", null, null);
+
+        assertThat(allocations(value, BindingTest.data(), 0) < ITERATIONS, is(true));
+    }
+
+    @Test
+    public void evaluate_meta_values_does_not_allocate() throws Exception {
+        ObjectValue data = BindingTest.data();
+
+        assertThat(allocations(Binding.valueOf("@{$index}", null, null), data, 1) < ITERATIONS, is(true));
+        assertThat(allocations(Binding.valueOf("@{e[$index]}", null, null), data, 1) < ITERATIONS, is(true));
+        assertThat(allocations(Binding.valueOf("@{e[$length]}", null, null), data, 1) < ITERATIONS, is(true));
+    }
+
+    @Test
+    public void evaluate_function_binding_does_not_allocate() throws Exception {
+        Value value = Binding.valueOf("@{fn:first(@{a.b.c},@{e[$index]},'x')}", null, functions());
+
+        assertThat(allocations(value, BindingTest.data(), 1) < ITERATIONS, is(true));
+    }
+
+    @Test
+    public void evaluate_nested_function_binding_does_not_allocate() throws Exception {
+        Value value = Binding.valueOf("@{fn:first(fn:first(@{a.b.c}),1)}", null, functions());
+
+        assertThat(allocations(value, BindingTest.data(), 0) < ITERATIONS, is(true));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * ValueDiffTest
+ *
+ * @author adityasharat
+ */
+public class ValueDiffTest {
+
+    private static ObjectValue data() {
+        ObjectValue user = new ObjectValue();
+        user.addProperty("name", "John");
+        user.addProperty("age", 30);
+
+        Array addresses = new Array();
+        ObjectValue address = new ObjectValue();
+        address.addProperty("city", "Bangalore");
+        addresses.add(address);
+        user.add("addresses", addresses);
+
+        ObjectValue data = new ObjectValue();
+        data.add("user", user);
+        data.addProperty("title", "Hello");
+        return data;
+    }
+
+    private static Set<String> paths(String... paths) {
+        Set<String> set = new HashSet<>();
+        for (String path : paths) {
+            set.add(Binding.DataBinding.valueOf(path).toString());
+        }
+        return set;
+    }
+
+    private static Set<String> paths(Binding.DataBinding[] paths) {
+        Set<String> set = new HashSet<>();
+        for (Binding.DataBinding path : paths) {
+            set.add(path.toString());
+        }
+        return set;
+    }
+
+    @Test
+    public void diff_equal() throws Exception {
+        assertThat(ValueDiff.diff(data(), data()).length, is(0));
+    }
+
+    @Test
+    public void diff_same() throws Exception {
+        ObjectValue data = data();
+        assertThat(ValueDiff.diff(data, data).length, is(0));
+    }
+
+    @Test
+    public void diff_null() throws Exception {
+        Binding.DataBinding[] paths = ValueDiff.diff(null, data());
+
+        assertThat(paths.length, is(1));
+        assertThat(paths[0].intersects(Binding.DataBinding.valueOf("user.name")), is(true));
+    }
+
+    @Test
+    public void diff_changed() throws Exception {
+        ObjectValue next = data();
+        next.getAsObject("user").addProperty("age", 31);
+        next.getAsObject("user").remove("name");
+        next.getAsObject("user").addProperty("email", "john@example.com");
+        next.getAsObject("user").getAsArray("addresses").add(new ObjectValue());
+        next.add("title", new Array());
+
+        assertThat(paths(ValueDiff.diff(data(), next)), is(paths("user.age", "user.name", "user.email", "user.addresses[1]", "title")));
+    }
+
+    @Test
+    public void diff_nested() throws Exception {
+        ObjectValue next = data();
+        next.getAsObject("user").getAsArray("addresses").get(0).getAsObject().addProperty("city", "Mumbai");
+
+        assertThat(paths(ValueDiff.diff(data(), next)), is(paths("user.addresses[0].city")));
+    }
+}
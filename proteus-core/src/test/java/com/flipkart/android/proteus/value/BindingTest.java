@@ -19,14 +19,21 @@
 
 package com.flipkart.android.proteus.value;
 
+import android.content.Context;
 import android.test.mock.MockContext;
 
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.FunctionManager;
 import com.flipkart.android.proteus.Proteus;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.ProteusContext;
 
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
@@ -73,6 +80,14 @@ public class BindingTest {
         return object;
     }
 
+    public static FunctionManager functions() {
+        Map<String, Function> functions = new HashMap<>();
+        for (Function function : new Function[]{Function.ADD, Function.FORMAT, Function.LENGTH, Function.TRIM}) {
+            functions.put(function.getName(), function);
+        }
+        return new FunctionManager(functions);
+    }
+
     public static ProteusContext context() {
         Proteus proteus = new ProteusBuilder().build();
         return proteus.createContextBuilder(new MockContext()).build();
@@ -460,4 +475,200 @@ public class BindingTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void token_types() throws Exception {
+        Binding.DataBinding binding = Binding.DataBinding.valueOf("a.e[8].$index.$length.$last");
+        Iterator<Binding.Token> tokens = binding.getTokens();
+
+        assertThat(tokens.next().type, is(Binding.Token.TYPE_PROPERTY));
+        assertThat(tokens.next().type, is(Binding.Token.TYPE_PROPERTY));
+
+        Binding.Token index = tokens.next();
+        assertThat(index.type, is(Binding.Token.TYPE_ARRAY_INDEX));
+        assertThat(index.index, is(8));
+
+        assertThat(tokens.next().type, is(Binding.Token.TYPE_DATA_INDEX));
+        assertThat(tokens.next().type, is(Binding.Token.TYPE_LENGTH));
+        assertThat(tokens.next().type, is(Binding.Token.TYPE_LAST_INDEX));
+    }
+
+    @Test
+    public void evaluate_index_is_reused() throws Exception {
+        Binding binding = Binding.valueOf("@{$index}", null, null);
+
+        Value first = binding.evaluate(null, data(), 2);
+        Value second = binding.evaluate(null, data(), 2);
+
+        assertThat(first.getAsString(), is("2"));
+        assertThat(first == second, is(true));
+    }
+
+    @Test
+    public void evaluate_array_length_is_reused() throws Exception {
+        Binding binding = Binding.valueOf("@{e[$length]}", null, null);
+
+        Value first = binding.evaluate(null, data(), 0);
+        Value second = binding.evaluate(null, data(), 0);
+
+        assertThat(first.getAsInt(), is(3));
+        assertThat(first == second, is(true));
+    }
+
+    @Test
+    public void evaluate_array_index_after_constant_index() throws Exception {
+        ObjectValue data = new ObjectValue();
+        Array outer = new Array();
+        ObjectValue item = new ObjectValue();
+        Array inner = new Array();
+        inner.add(new Primitive("x"));
+        inner.add(new Primitive("y"));
+        item.add("items", inner);
+        outer.add(item);
+        data.add("m", outer);
+
+        Binding binding = Binding.valueOf("@{m[0].items[$index]}", null, null);
+
+        assertThat(binding.evaluate(null, data, 1).getAsString(), is("y"));
+    }
+
+    @Test
+    public void evaluate_array_property() throws Exception {
+        Binding binding = Binding.valueOf("@{e.a}", null, null);
+
+        Value value = binding.evaluate(null, data(), 0);
+
+        assertThat(value.toString(), is("NULL"));
+    }
+
+    @Test
+    public void evaluate_array_negative_index() throws Exception {
+        Binding binding = Binding.valueOf("@{e[$index]}", null, null);
+
+        Value value = binding.evaluate(null, data(), -1);
+
+        assertThat(value.toString(), is("NULL"));
+    }
+
+    @Test
+    public void evaluate_nested_function() throws Exception {
+        Binding binding = Binding.valueOf("@{fn:add(fn:length(@{e}),1)}", null, functions());
+
+        Value value = binding.evaluate(null, data(), 0);
+
+        assertThat(value.getAsString(), is("4.0"));
+    }
+
+    @Test
+    public void evaluate_nested_function_binding() throws Exception {
+        Binding binding = Binding.valueOf("@{fn:add(@{fn:length(@{e})},@{a.b.c})}", null, functions());
+
+        Value value = binding.evaluate(null, data(), 0);
+
+        assertThat(value.getAsString(), is("13.0"));
+    }
+
+    @Test
+    public void evaluate_function_quoted_arguments() throws Exception {
+        Binding binding = Binding.valueOf("@{fn:format('%s, (%s)',fn:trim(' x '),@{a.b.c})}", null, functions());
+
+        Value value = binding.evaluate(null, data(), 0);
+
+        assertThat(value.getAsString(), is("x, (10)"));
+    }
+
+    @Test
+    public void fold_nested_function() throws Exception {
+        Binding.FunctionBinding binding = (Binding.FunctionBinding) Binding.valueOf("@{fn:add(fn:length('abc'),@{a.b.c})}", null, functions());
+
+        assertThat(binding.isConstant(), is(false));
+        assertThat(binding.fold(null) == null, is(true));
+        assertThat(binding.toString(), is("@{fn:add('3',@{a.b.c})}"));
+    }
+
+    @Test
+    public void fold_function() throws Exception {
+        Binding.FunctionBinding binding = (Binding.FunctionBinding) Binding.valueOf("@{fn:add(fn:length('abc'),1)}", null, functions());
+
+        assertThat(binding.isConstant(), is(true));
+        assertThat(binding.fold(null).getAsString(), is("4.0"));
+    }
+
+    @Test
+    public void to_string_nested_function() throws Exception {
+        String string = "@{fn:add(@{fn:length(@{e})},'1')}";
+        Binding binding = Binding.valueOf(string, null, functions());
+
+        assertThat(binding.toString(), is(string));
+        assertThat(Binding.valueOf(binding.toString(), null, functions()).evaluate(null, data(), 0).getAsString(), is("4.0"));
+    }
+
+    @Test
+    public void intersects() throws Exception {
+        Binding.DataBinding binding = Binding.DataBinding.valueOf("a.b[1].c");
+
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("a")), is(true));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("a.b[1]")), is(true));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("a.b[1].c.d")), is(true));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("a.b[2]")), is(false));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("a.x")), is(false));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("x")), is(false));
+        assertThat(Binding.DataBinding.valueOf("a.b[$index]").intersects(Binding.DataBinding.valueOf("a.b[2]")), is(true));
+    }
+
+    @Test
+    public void dependencies() throws Exception {
+        Binding binding = Binding.valueOf("@{fn:add(@{a.b.c},fn:length(@{e}))}", null, functions());
+
+        Binding.DataBinding[] dependencies = binding.getDependencies();
+
+        assertThat(dependencies.length, is(2));
+        assertThat(dependencies[0].toString(), is("@{a.b.c}"));
+        assertThat(dependencies[1].toString(), is("@{e}"));
+    }
+
+    @Test
+    public void is_affected_by() throws Exception {
+        Binding binding = Binding.valueOf("@{fn:add(@{a.b.c},fn:length(@{e}))}", null, functions());
+
+        assertThat(binding.isAffectedBy(new Binding.DataBinding[]{Binding.DataBinding.valueOf("a.b")}), is(true));
+        assertThat(binding.isAffectedBy(new Binding.DataBinding[]{Binding.DataBinding.valueOf("e")}), is(true));
+        assertThat(binding.isAffectedBy(new Binding.DataBinding[]{Binding.DataBinding.valueOf("a.d"), Binding.DataBinding.valueOf("f")}), is(false));
+    }
+
+    @Test
+    public void memoize_within_pass() throws Exception {
+        final int[] calls = new int[1];
+        Map<String, Function> map = new HashMap<>();
+        map.put("count", new Function.Pure() {
+            @Override
+            public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+                calls[0]++;
+                return arguments[0];
+            }
+
+            @Override
+            public String getName() {
+                return "count";
+            }
+        });
+        FunctionManager manager = new FunctionManager(map);
+        ObjectValue data = data();
+        Binding a = Binding.valueOf("@{fn:count(@{a.b.c})}", null, manager);
+        Binding b = Binding.valueOf("@{fn:count(@{a.b.c})}", null, manager);
+
+        BindingMemo.begin();
+        try {
+            assertThat(a.evaluate(null, data, 0).getAsString(), is("10"));
+            assertThat(b.evaluate(null, data, 0).getAsString(), is("10"));
+            assertThat(calls[0], is(1));
+            b.evaluate(null, data, 1);
+            b.evaluate(null, data(), 0);
+            assertThat(calls[0], is(3));
+        } finally {
+            BindingMemo.end();
+        }
+
+        a.evaluate(null, data, 0);
+        assertThat(calls[0], is(4));
+    }
+}
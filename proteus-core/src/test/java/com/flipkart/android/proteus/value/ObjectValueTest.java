@@ -0,0 +1,121 @@
+/*
+ * Apache License
+ * Version 2.0, January 2004
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * TERMS AND CONDITIONS FOR USE, REPRODUCTION, AND DISTRIBUTION
+ *
+ * Copyright (c) 2018 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * ObjectValueTest
+ *
+ * @author adityasharat
+ */
+public class ObjectValueTest {
+
+    private static ObjectValue data() {
+        ObjectValue user = new ObjectValue();
+        user.addProperty("name", "John");
+
+        Array addresses = new Array();
+        addresses.add(new ObjectValue());
+        addresses.add(new ObjectValue());
+        user.add("addresses", addresses);
+
+        ObjectValue data = new ObjectValue();
+        data.add("user", user);
+        return data;
+    }
+
+    private static List<String> observe(ObjectValue data) {
+        final List<String> paths = new ArrayList<>();
+        data.observe(new Value.Observer() {
+            @Override
+            public void onChanged(String path) {
+                paths.add(path);
+            }
+        });
+        return paths;
+    }
+
+    @Test
+    public void observe_property() throws Exception {
+        ObjectValue data = data();
+        List<String> paths = observe(data);
+
+        data.addProperty("title", "Hello");
+        data.getAsObject("user").addProperty("name", "Jane");
+        data.getAsObject("user").remove("name");
+
+        assertThat(paths.toString(), is("[title, user.name, user.name]"));
+    }
+
+    @Test
+    public void observe_array() throws Exception {
+        ObjectValue data = data();
+        List<String> paths = observe(data);
+        Array addresses = data.getAsObject("user").getAsArray("addresses");
+
+        addresses.getAsArray().get(1).getAsObject().addProperty("city", "Bangalore");
+        addresses.add(new ObjectValue());
+        addresses.set(0, new ObjectValue());
+        addresses.remove(0);
+        addresses.get(1).getAsObject().addProperty("city", "Mumbai");
+
+        assertThat(paths.toString(), is("[user.addresses[1].city, user.addresses[2], user.addresses[0], user.addresses, user.addresses[1].city]"));
+    }
+
+    @Test
+    public void observe_added_values() throws Exception {
+        ObjectValue data = data();
+        List<String> paths = observe(data);
+
+        ObjectValue user = new ObjectValue();
+        data.add("user", user);
+        user.addProperty("name", "Jane");
+
+        assertThat(paths.toString(), is("[user, user.name]"));
+    }
+
+    @Test
+    public void observe_removed_values() throws Exception {
+        ObjectValue data = data();
+        List<String> paths = observe(data);
+
+        ObjectValue user = data.getAsObject("user");
+        data.remove("user");
+        user.addProperty("name", "Jane");
+        data.observe(null);
+        data.addProperty("title", "Hello");
+
+        assertThat(paths.toString(), is("[user]"));
+    }
+
+    @Test
+    public void changed_paths_intersect_bindings() throws Exception {
+        Binding.DataBinding binding = Binding.DataBinding.valueOf("user.addresses.$length");
+
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("user.addresses[2]")), is(true));
+        assertThat(binding.intersects(Binding.DataBinding.valueOf("user.name")), is(false));
+    }
+}
@@ -20,7 +20,10 @@
 package com.flipkart.android.proteus.support.v7;
 
 import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
 
+import com.flipkart.android.proteus.LayoutParamsFactory;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.support.v7.adapter.ProteusRecyclerViewAdapter;
 import com.flipkart.android.proteus.support.v7.adapter.RecyclerViewAdapterFactory;
@@ -83,6 +86,13 @@ public class RecyclerViewModule implements ProteusBuilder.Module {
     @Override
     public void registerWith(ProteusBuilder builder) {
         builder.register(new RecyclerViewParser(adapterFactory, layoutManagerFactory));
+        LayoutParamsFactory.register(RecyclerView.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            }
+        });
     }
 
     /**
@@ -26,6 +26,7 @@ import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.managers.ViewManager;
 import com.flipkart.android.proteus.support.v7.widget.ProteusRecyclerView;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
@@ -80,7 +81,12 @@ public class SimpleListAdapter extends ProteusRecyclerViewAdapter<ProteusViewHol
     @Override
     public void onBindViewHolder(ProteusViewHolder holder, int position) {
         DataContext context = DataContext.create(holder.context, data, position, scope);
-        holder.view.getViewManager().update(context.getData());
+        ProteusView.Manager manager = holder.view.getViewManager();
+        if (manager instanceof ViewManager) {
+            // the row was bound to another item, the user may have changed the state of its views
+            ((ViewManager) manager).invalidateValues();
+        }
+        manager.update(context.getData());
     }
 
     @Override
@@ -19,6 +19,12 @@
 
 package com.flipkart.android.proteus.support.v4;
 
+import android.support.annotation.NonNull;
+import android.support.v4.view.ViewPager;
+import android.view.Gravity;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.LayoutParamsFactory;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.support.v4.view.ViewPagerParser;
 
@@ -40,5 +46,17 @@ public class SupportV4Module implements ProteusBuilder.Module {
     @Override
     public void registerWith(ProteusBuilder builder) {
         builder.register(new ViewPagerParser());
+        LayoutParamsFactory.register(ViewPager.class, new LayoutParamsFactory() {
+            @NonNull
+            @Override
+            public ViewGroup.LayoutParams create() {
+                ViewPager.LayoutParams params = new ViewPager.LayoutParams();
+                params.width = ViewGroup.LayoutParams.WRAP_CONTENT;
+                params.height = ViewGroup.LayoutParams.WRAP_CONTENT;
+                // the default gravity of the params generated from attributes
+                params.gravity = Gravity.TOP;
+                return params;
+            }
+        });
     }
 }